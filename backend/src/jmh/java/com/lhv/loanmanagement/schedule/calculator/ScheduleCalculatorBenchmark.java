@@ -0,0 +1,70 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleCalculatorBenchmark {
+
+    @Param({"12", "60", "120", "360", "600"})
+    private int periodMonths;
+
+    @Param({"0.50", "24.99"})
+    private String annualInterestRate;
+
+    @Param({"1000.00", "9999999999999.99"})
+    private String amount;
+
+    @Param({"big-decimal", "fixed-point"})
+    private String engine;
+
+    private ScheduleCalculator annuityCalculator;
+    private ScheduleCalculator equalPrincipalCalculator;
+    private Loan annuityLoan;
+    private Loan equalPrincipalLoan;
+
+    @Setup
+    public void setUp() {
+        boolean fixedPoint = "fixed-point".equals(engine);
+        annuityCalculator = fixedPoint ? new FixedPointAnnuityScheduleCalculator() : new AnnuityScheduleCalculator();
+        equalPrincipalCalculator = fixedPoint ? new FixedPointEqualPrincipalScheduleCalculator() : new EqualPrincipalScheduleCalculator();
+        annuityLoan = createLoan(ScheduleType.ANNUITY);
+        equalPrincipalLoan = createLoan(ScheduleType.EQUAL_PRINCIPAL);
+    }
+
+    @Benchmark
+    public List<ScheduleItem> annuity() {
+        return annuityCalculator.calculate(annuityLoan);
+    }
+
+    @Benchmark
+    public List<ScheduleItem> equalPrincipal() {
+        return equalPrincipalCalculator.calculate(equalPrincipalLoan);
+    }
+
+    private Loan createLoan(ScheduleType scheduleType) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(annualInterestRate))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
@@ -16,7 +16,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Loan {
 
     @Id
@@ -33,6 +33,7 @@ public class Loan {
     @Column(name = "period_months", nullable = false)
     private Integer periodMonths;
 
+    // The contracted rate; rate resets leave it unchanged and set currentInterestRate instead
     @Column(name = "annual_interest_rate", nullable = false, precision = 5, scale = 2)
     private BigDecimal annualInterestRate;
 
@@ -42,5 +43,20 @@ public class Loan {
 
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
+
+    // Variable-rate loans are repriced to the latest value of this reference index plus the margin
+    @Column(name = "reference_index", length = 20)
+    private String referenceIndex;
+
+    @Column(name = "margin", precision = 5, scale = 2)
+    private BigDecimal margin;
+
+    // Rate set by the latest rate reset, null until the first one
+    @Column(name = "current_interest_rate", precision = 5, scale = 2)
+    private BigDecimal currentInterestRate;
+
+    // Incremented whenever servicing events such as prepayments or rate resets change the schedule
+    @Column(name = "revision", nullable = false)
+    private int revision;
 }
 
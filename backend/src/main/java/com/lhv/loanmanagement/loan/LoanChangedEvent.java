@@ -0,0 +1,10 @@
+package com.lhv.loanmanagement.loan;
+
+import java.util.UUID;
+
+/**
+ * Published when a stored loan or its schedule changes; listeners bound to the transaction only see it once
+ * the change is committed.
+ */
+public record LoanChangedEvent(UUID loanId) {
+}
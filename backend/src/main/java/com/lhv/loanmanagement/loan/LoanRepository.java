@@ -1,11 +1,54 @@
 package com.lhv.loanmanagement.loan;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, UUID> {
-}
+public interface LoanRepository extends JpaRepository<Loan, UUID>, JpaSpecificationExecutor<Loan> {
+
+    // Server-side cursor: requires an open transaction, rows are fetched in batches of the fetch size
+    @Query("select l from Loan l")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Loan> streamAll();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Loan l where l.id = :id")
+    Optional<Loan> findByIdForUpdate(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Loan l where l.id in :ids")
+    List<Loan> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
 
+    long countByReferenceIndex(String referenceIndex);
+
+    // Keyset chunks of the variable-rate loans of an index, in id order
+    @Query("select l from Loan l where l.referenceIndex = :referenceIndex and l.id > :after order by l.id")
+    List<Loan> findByReferenceIndexAfter(@Param("referenceIndex") String referenceIndex, @Param("after") UUID after,
+                                         Limit limit);
+
+    @Query("select l from Loan l where l.startDate <= :until")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Loan> streamStartingOnOrBefore(@Param("until") LocalDate until);
+}
@@ -0,0 +1,45 @@
+package com.lhv.loanmanagement.loan;
+
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public final class LoanSpecifications {
+
+    private LoanSpecifications() {
+        // Utility class
+    }
+
+    public static Specification<Loan> hasLoanType(LoanType loanType) {
+        return (root, query, cb) -> loanType == null ? null : cb.equal(root.get("loanType"), loanType);
+    }
+
+    public static Specification<Loan> startDateFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("startDate"), from);
+    }
+
+    public static Specification<Loan> startDateTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("startDate"), to);
+    }
+
+    /**
+     * Loans after {@code (startDate, id)} in keyset order, as the row-value comparison
+     * {@code (start_date, id) > (?, ?)}. PostgreSQL starts an index range scan on {@code (start_date, id)} right at
+     * the cursor, also behind an equality on a leading column such as {@code loan_type}; the equivalent
+     * {@code start_date > ? or (start_date = ? and id > ?)} is only a filter, so deep pages would scan every row
+     * before them.
+     */
+    public static Specification<Loan> after(LocalDate startDate, UUID id) {
+        return (root, query, cb) -> {
+            // ROW(...) has no JPA type; the nominal String type only makes the comparison type-check
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            Expression<String> key = hcb.function("row", String.class, root.get("startDate"), root.get("id"));
+            Expression<String> cursor = hcb.function("row", String.class, hcb.value(startDate), hcb.value(id));
+            return hcb.greaterThan(key, cursor);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.lhv.loanmanagement.loan;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk variant of {@link LoanChangedEvent}, published once for loans changed together, e.g. a repricing chunk;
+ * listeners bound to the transaction only see it once the changes are committed.
+ */
+public record LoansChangedEvent(List<UUID> loanIds) {
+}
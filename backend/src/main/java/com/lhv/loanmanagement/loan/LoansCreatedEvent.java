@@ -0,0 +1,10 @@
+package com.lhv.loanmanagement.loan;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.lhv.loanmanagement.loan.service.LoanService} when loans are created; listeners
+ * bound to the transaction only see it once the loans are committed.
+ */
+public record LoansCreatedEvent(List<Loan> loans) {
+}
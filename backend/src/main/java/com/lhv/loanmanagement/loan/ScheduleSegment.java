@@ -0,0 +1,19 @@
+package com.lhv.loanmanagement.loan;
+
+/**
+ * A servicing event that restarts the schedule of a loan, such as a prepayment or a rate reset. The installments
+ * before {@link #getInstallmentIndex()} come from the schedule in force before the event, the rest from the
+ * schedule of {@link #remainderOf}. Events of a loan are ordered by the loan revision they created.
+ */
+public interface ScheduleSegment {
+
+    int getRevision();
+
+    int getInstallmentIndex();
+
+    /**
+     * The loan whose schedule continues the schedule of {@code loan} after this event, given the loan
+     * {@code previous} whose schedule was in force before it.
+     */
+    Loan remainderOf(Loan loan, Loan previous);
+}
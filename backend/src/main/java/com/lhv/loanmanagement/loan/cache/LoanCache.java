@@ -0,0 +1,95 @@
+package com.lhv.loanmanagement.loan.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanChangedEvent;
+import com.lhv.loanmanagement.loan.LoansChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of loans by id. Entries leave the cache on eviction or expiry, or when code that modifies or
+ * deletes a loan publishes a {@link LoanChangedEvent} or {@link LoansChangedEvent}, once its transaction commits.
+ * <p>
+ * {@link Loan} is a mutable entity, so the cache holds a detached copy of the loaded loan and hands out a copy of
+ * it on every lookup; callers may modify what they get without affecting other threads.
+ */
+@Slf4j
+@Component
+public class LoanCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "loans";
+
+    private final Cache<UUID, Loan> cache;
+
+    public LoanCache(@Value("${loan-management.loan.cache.maximum-size:100000}") long maximumSize,
+                     @Value("${loan-management.loan.cache.time-to-live:PT10M}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        log.info("Initialized loan cache with maximumSize={}, timeToLive={}", maximumSize, timeToLive);
+    }
+
+    /**
+     * Returns a copy of the cached loan or loads it; empty results are not cached, so a loan created after a
+     * failed lookup is found on the next one.
+     */
+    public Optional<Loan> get(UUID id, Function<UUID, Optional<Loan>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).map(LoanCache::copy).orElse(null)))
+                .map(LoanCache::copy);
+    }
+
+    public void evict(UUID id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanChanged(LoanChangedEvent event) {
+        log.debug("Evicting changed loan id={}", event.loanId());
+        evict(event.loanId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoansChanged(LoansChangedEvent event) {
+        log.debug("Evicting {} changed loans", event.loanIds().size());
+        cache.invalidateAll(event.loanIds());
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // All fields are immutable values, so a shallow copy shares no state
+    private static Loan copy(Loan loan) {
+        return loan.toBuilder().build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups served from the cache since startup")
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+}
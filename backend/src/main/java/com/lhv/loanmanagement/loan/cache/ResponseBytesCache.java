@@ -0,0 +1,127 @@
+package com.lhv.loanmanagement.loan.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Serialized (and possibly compressed) response bodies keyed by their entity tag. A strong tag identifies the
+ * exact bytes of a representation, so it is a complete key: equal tags always map to equal bodies.
+ */
+@Slf4j
+@Component
+public class ResponseBytesCache implements MeterBinder {
+
+    private final Cache<String, byte[]> cache;
+    private final int maximumEntryBytes;
+
+    public ResponseBytesCache(@Value("${loan-management.loan.response-cache.maximum-bytes:67108864}") long maximumBytes,
+                              @Value("${loan-management.loan.response-cache.maximum-entry-bytes:1048576}")
+                              int maximumEntryBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String eTag, byte[] body) -> body.length + eTag.length())
+                .recordStats()
+                .build();
+        this.maximumEntryBytes = maximumEntryBytes;
+
+        log.info("Initialized response cache with maximumBytes={}, maximumEntryBytes={}", maximumBytes,
+                maximumEntryBytes);
+    }
+
+    public byte[] get(String eTag, Serializer serializer) {
+        return cache.get(eTag, key -> {
+            try {
+                return serializer.serialize();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public byte[] getIfPresent(String eTag) {
+        return cache.getIfPresent(eTag);
+    }
+
+    /**
+     * Wraps the stream a body is sent to so that a copy of it is cached under {@code eTag} on
+     * {@link CachingOutputStream#commit()}. Bodies larger than the entry limit are only sent.
+     */
+    public CachingOutputStream cachingStream(String eTag, OutputStream target) {
+        return new CachingOutputStream(eTag, target);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "responses");
+    }
+
+    public final class CachingOutputStream extends FilterOutputStream {
+
+        private final String eTag;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(1024);
+
+        private CachingOutputStream(String eTag, OutputStream target) {
+            super(target);
+            this.eTag = eTag;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            dropCopyBeyondLimit(1);
+            if (copy != null) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            dropCopyBeyondLimit(len);
+            if (copy != null) {
+                copy.write(b, off, len);
+            }
+        }
+
+        /**
+         * Caches the body written so far, unless it outgrew the entry limit. Call it once the body is complete;
+         * a body that failed halfway must not be served again.
+         */
+        public void commit() {
+            if (copy != null) {
+                cache.put(eTag, copy.toByteArray());
+                copy = null;
+            }
+        }
+
+        private void dropCopyBeyondLimit(int length) {
+            if (copy != null && copy.size() + length > maximumEntryBytes) {
+                log.debug("Response for tag {} exceeds {} bytes, not caching it", eTag, maximumEntryBytes);
+                copy = null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Serializer {
+
+        byte[] serialize() throws IOException;
+    }
+}
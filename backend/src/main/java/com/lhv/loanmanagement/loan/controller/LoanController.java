@@ -1,44 +1,114 @@
 package com.lhv.loanmanagement.loan.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.cache.ResponseBytesCache;
+import com.lhv.loanmanagement.loan.dto.BatchCreateLoansResponse;
 import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import com.lhv.loanmanagement.loan.dto.LoanCursor;
+import com.lhv.loanmanagement.loan.dto.LoanFilter;
+import com.lhv.loanmanagement.loan.dto.LoanPageResponse;
 import com.lhv.loanmanagement.loan.dto.LoanResponse;
-import com.lhv.loanmanagement.loan.dto.ScheduleResponse;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.service.LoanBatchService;
+import com.lhv.loanmanagement.loan.service.LoanExportService;
 import com.lhv.loanmanagement.loan.service.LoanService;
+import com.lhv.loanmanagement.schedule.codec.ScheduleBinaryCodec;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import com.lhv.loanmanagement.schedule.service.AprService;
 import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import com.lhv.loanmanagement.schedule.store.ScheduleStore;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/loans")
 public class LoanController {
 
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final LoanService loanService;
+    private final LoanBatchService loanBatchService;
+    private final LoanExportService loanExportService;
     private final RepaymentScheduleService repaymentScheduleService;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final AprService aprService;
+    private final ScheduleStore scheduleStore;
+    private final ScheduleResponseWriter scheduleResponseWriter;
+    private final ResponseBytesCache responseBytesCache;
+    private final ObjectMapper objectMapper;
 
-    public LoanController(LoanService loanService, RepaymentScheduleService repaymentScheduleService) {
+    public LoanController(LoanService loanService, LoanBatchService loanBatchService,
+                          LoanExportService loanExportService, RepaymentScheduleService repaymentScheduleService,
+                          SegmentedScheduleService segmentedScheduleService, AprService aprService,
+                          ScheduleStore scheduleStore, ScheduleResponseWriter scheduleResponseWriter,
+                          ResponseBytesCache responseBytesCache, ObjectMapper objectMapper) {
         this.loanService = loanService;
+        this.loanBatchService = loanBatchService;
+        this.loanExportService = loanExportService;
         this.repaymentScheduleService = repaymentScheduleService;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.aprService = aprService;
+        this.scheduleStore = scheduleStore;
+        this.scheduleResponseWriter = scheduleResponseWriter;
+        this.responseBytesCache = responseBytesCache;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<LoanResponse>> getAllLoans() {
-        log.debug("Received request to get all loans");
+    public ResponseEntity<LoanPageResponse> getLoans(
+            @RequestParam(required = false) LoanType loanType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Received request to get loans: loanType={}, startDateFrom={}, startDateTo={}, size={}",
+                loanType, startDateFrom, startDateTo, size);
+        
+        LoanFilter filter = LoanFilter.builder()
+                .loanType(loanType)
+                .startDateFrom(startDateFrom)
+                .startDateTo(startDateTo)
+                .build();
+        Window<Loan> page = loanService.findPage(filter, cursor == null ? null : LoanCursor.decode(cursor), size);
+        
+        LoanPageResponse response = LoanPageResponse.builder()
+                .items(page.stream().map(loan -> LoanResponse.from(loan, aprService.calculate(loan))).toList())
+                .nextCursor(page.hasNext() ? LoanCursor.after(page.getContent().get(page.size() - 1)).encode() : null)
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLoans() {
+        log.debug("Received request to export all loans");
         
-        List<Loan> loans = loanService.findAll();
-        List<LoanResponse> responses = loans.stream()
-                .map(LoanResponse::from)
-                .collect(Collectors.toList());
+        StreamingResponseBody body = loanExportService::exportTo;
         
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping
@@ -47,31 +117,154 @@ public class LoanController {
         
         Loan loan = request.toEntity();
         Loan saved = loanService.create(loan);
-        LoanResponse response = LoanResponse.from(saved);
+        LoanResponse response = LoanResponse.from(saved, aprService.calculate(saved));
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateLoansResponse> createLoans(@RequestBody List<CreateLoanRequest> requests) {
+        log.debug("Received batch loan creation request with {} loans", requests.size());
+        
+        BatchCreateLoansResponse response = loanBatchService.createAll(requests);
+        
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<LoanResponse> getLoan(@PathVariable UUID id) {
+    public ResponseEntity<byte[]> getLoan(@PathVariable UUID id, WebRequest request) {
         log.debug("Received request to get loan with id={}", id);
         
         Loan loan = loanService.findById(id);
-        LoanResponse response = LoanResponse.from(loan);
+        String eTag = LoanETags.loan(loan);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        // A loan body is a few hundred bytes, too small to be worth compressing
+        byte[] body = responseBytesCache.get(eTag,
+                () -> objectMapper.writeValueAsBytes(LoanResponse.from(loan, aprService.calculate(loan))));
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(body);
     }
 
-    @GetMapping("/{id}/schedule")
-    public ResponseEntity<ScheduleResponse> getSchedule(@PathVariable UUID id) {
-        log.debug("Received request to get schedule for loan id={}", id);
+    @GetMapping(value = "/{id}/schedule",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> getSchedule(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        log.debug("Received request to get schedule for loan id={}, offset={}, limit={}", id, offset, limit);
         
         Loan loan = loanService.findById(id);
-        ScheduleResponse response = ScheduleResponse.builder()
-                .items(repaymentScheduleService.calculateSchedule(loan))
-                .build();
+        boolean binary = acceptsBinary(accept);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // The tag is derived from the schedule inputs, so an unchanged schedule is never calculated
+        String eTag = LoanETags.schedule(loan, offset, limit, binary, gzip);
+        if (request.checkNotModified(eTag)) {
+            log.debug("Schedule for loan id={} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        
+        StreamingResponseBody body;
+        byte[] cached = responseBytesCache.getIfPresent(eTag);
+        if (cached != null) {
+            body = outputStream -> outputStream.write(cached);
+        } else {
+            // Calculated before the response is committed, so errors still map to their status codes
+            ScheduleColumns schedule = getScheduleColumns(loan, offset, limit);
+            // Streamed to the client while a copy goes to the response cache, up to its entry limit
+            body = outputStream -> writeSchedule(schedule, binary, gzip,
+                    responseBytesCache.cachingStream(eTag, outputStream));
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(binary ? MediaType.APPLICATION_OCTET_STREAM : MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/{id}/schedule/{installmentNumber}")
+    public ResponseEntity<ScheduleItem> getInstallment(@PathVariable UUID id, @PathVariable int installmentNumber) {
+        log.debug("Received request to get installment {} for loan id={}", installmentNumber, id);
+        
+        Loan loan = loanService.findById(id);
+        ScheduleItem response = loan.getRevision() > 0
+                ? segmentedScheduleService.getInstallment(loan, installmentNumber)
+                : repaymentScheduleService.calculateInstallment(loan, installmentNumber);
         
         return ResponseEntity.ok(response);
     }
-}
 
+    private ScheduleColumns getScheduleColumns(Loan loan, Integer offset, Integer limit) {
+        if (offset == null && limit == null) {
+            return scheduleStore.getSchedule(loan);
+        }
+        int from = offset == null ? 0 : offset;
+        int count = limit == null ? loan.getPeriodMonths() : limit;
+        // Windows of loans with prepayments or rate resets are stitched from their checkpoints
+        return loan.getRevision() > 0
+                ? segmentedScheduleService.getSchedule(loan, from, count)
+                : repaymentScheduleService.calculateScheduleColumns(loan, from, count);
+    }
+
+    private void writeSchedule(ScheduleColumns schedule, boolean binary, boolean gzip,
+                               ResponseBytesCache.CachingOutputStream outputStream) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : null;
+        OutputStream target = compressed != null ? compressed : outputStream;
+        if (binary) {
+            target.write(ScheduleBinaryCodec.encode(schedule));
+        } else {
+            // Rows are written straight from the columns, in the ScheduleResponse JSON shape
+            scheduleResponseWriter.write(schedule, target);
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        outputStream.commit();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JSON stays the default; the binary schedule is only sent when preferred over JSON explicitly.
+     */
+    private static boolean acceptsBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double binaryQuality = -1;
+        double jsonQuality = -1;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_OCTET_STREAM)) {
+                binaryQuality = Math.max(binaryQuality, mediaType.getQualityValue());
+            } else if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                jsonQuality = Math.max(jsonQuality, mediaType.getQualityValue());
+            }
+        }
+        return binaryQuality > jsonQuality;
+    }
+}
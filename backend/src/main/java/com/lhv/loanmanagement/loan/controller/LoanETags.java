@@ -0,0 +1,58 @@
+package com.lhv.loanmanagement.loan.controller;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.codec.ScheduleBinaryCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.CALCULATOR_VERSION;
+
+/**
+ * Strong entity tags computed from the inputs of a response rather than its bytes, so a conditional request can
+ * be answered before anything is calculated or serialized.
+ */
+final class LoanETags {
+
+    private static final int HASH_BYTES = 16;
+
+    private LoanETags() {
+        // Utility class
+    }
+
+    static String loan(Loan loan) {
+        return hash("loan", loanFields(loan));
+    }
+
+    /**
+     * Covers everything a schedule response depends on: the loan, the calculator version, the requested window,
+     * the representation and its content coding.
+     */
+    static String schedule(Loan loan, Integer offset, Integer limit, boolean binary, boolean gzip) {
+        String representation = (binary ? "binary-" + ScheduleBinaryCodec.FORMAT_VERSION : "json")
+                + (gzip ? "+gzip" : "");
+        return hash("schedule", loanFields(loan), "calculator-" + CALCULATOR_VERSION,
+                String.valueOf(offset), String.valueOf(limit), representation);
+    }
+
+    private static String loanFields(Loan loan) {
+        return String.join(",", String.valueOf(loan.getId()), String.valueOf(loan.getLoanType()),
+                String.valueOf(loan.getAmount()), String.valueOf(loan.getPeriodMonths()),
+                String.valueOf(loan.getAnnualInterestRate()), String.valueOf(loan.getScheduleType()),
+                String.valueOf(loan.getStartDate()), String.valueOf(loan.getReferenceIndex()),
+                String.valueOf(loan.getMargin()), String.valueOf(loan.getRevision()));
+    }
+
+    private static String hash(String... parts) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(Arrays.copyOf(digest, HASH_BYTES)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lhv.loanmanagement.loan.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lhv.loanmanagement.loan.dto.ScheduleResponse;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Writes a schedule in the {@link ScheduleResponse} JSON shape straight from {@link ScheduleColumns}: no
+ * {@code ScheduleItem} or {@code BigDecimal} objects and no bean introspection, amounts are formatted from
+ * cents into a reused buffer.
+ */
+@Component
+public class ScheduleResponseWriter {
+
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString PAYMENT_DATE = new SerializedString("paymentDate");
+    private static final SerializableString PAYMENT = new SerializedString("payment");
+    private static final SerializableString PRINCIPAL = new SerializedString("principal");
+    private static final SerializableString INTEREST = new SerializedString("interest");
+    private static final SerializableString REMAINING_BALANCE = new SerializedString("remainingBalance");
+
+    private final JsonFactory jsonFactory;
+
+    public ScheduleResponseWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public void write(ScheduleColumns schedule, OutputStream outputStream) throws IOException {
+        char[] buffer = new char[24];
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeFieldName(ITEMS);
+            generator.writeStartArray();
+            for (int index = 0; index < schedule.size(); index++) {
+                generator.writeStartObject();
+                generator.writeFieldName(PAYMENT_DATE);
+                writeDate(generator, schedule.getPaymentDate(index), buffer);
+                writeAmount(generator, PAYMENT, schedule.getPayment(index), buffer);
+                writeAmount(generator, PRINCIPAL, schedule.getPrincipal(index), buffer);
+                writeAmount(generator, INTEREST, schedule.getInterest(index), buffer);
+                writeAmount(generator, REMAINING_BALANCE, schedule.getRemainingBalance(index), buffer);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, LocalDate date, char[] buffer) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(date.toString());
+            return;
+        }
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, date.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+        generator.writeString(buffer, 0, 10);
+    }
+
+    private static void writeAmount(JsonGenerator generator, SerializableString name, long cents,
+                                    char[] buffer) throws IOException {
+        generator.writeFieldName(name);
+        // Same text as BigDecimal.valueOf(cents, 2).toString(), filled from the end of the buffer
+        long magnitude = Math.abs(cents);
+        int position = buffer.length;
+        buffer[--position] = (char) ('0' + magnitude % 10);
+        buffer[--position] = (char) ('0' + magnitude / 10 % 10);
+        buffer[--position] = '.';
+        long units = magnitude / 100;
+        do {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        generator.writeNumber(buffer, position, buffer.length - position);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int position = offset + width - 1; position >= offset; position--) {
+            buffer[position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
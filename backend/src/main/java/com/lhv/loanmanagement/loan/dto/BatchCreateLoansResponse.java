@@ -0,0 +1,19 @@
+package com.lhv.loanmanagement.loan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateLoansResponse {
+
+    private int created;
+    private int invalid;
+    private List<BatchItemResult> results;
+}
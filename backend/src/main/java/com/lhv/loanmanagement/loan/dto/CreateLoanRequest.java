@@ -1,5 +1,6 @@
 package com.lhv.loanmanagement.loan.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.LoanType;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
@@ -42,6 +43,22 @@ public class CreateLoanRequest {
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
 
+    // Optional, for variable-rate loans; the annual interest rate above is the rate until the first reset
+    @Pattern(regexp = "[A-Z0-9_]{1,20}",
+            message = "Reference index must be 1-20 upper case letters, digits or underscores")
+    private String referenceIndex;
+
+    @DecimalMin(value = "-100.00", message = "Margin must be at least -100")
+    @DecimalMax(value = "100.00", message = "Margin must be at most 100")
+    @Digits(integer = 3, fraction = 2, message = "Margin must have at most 3 integer digits and 2 decimal places")
+    private BigDecimal margin;
+
+    @JsonIgnore
+    @AssertTrue(message = "Reference index and margin must be given together")
+    public boolean isMarginGivenWithReferenceIndex() {
+        return (referenceIndex == null) == (margin == null);
+    }
+
     public Loan toEntity() {
         return Loan.builder()
                 .loanType(this.loanType)
@@ -50,6 +67,8 @@ public class CreateLoanRequest {
                 .annualInterestRate(this.annualInterestRate)
                 .scheduleType(this.scheduleType)
                 .startDate(this.startDate)
+                .referenceIndex(this.referenceIndex)
+                .margin(this.margin)
                 .build();
     }
 }
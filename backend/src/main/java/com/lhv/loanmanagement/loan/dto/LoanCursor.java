@@ -0,0 +1,44 @@
+package com.lhv.loanmanagement.loan.dto;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the {@code (startDate, id)} loan order, exchanged with clients as an opaque token.
+ */
+public record LoanCursor(LocalDate startDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static LoanCursor after(Loan loan) {
+        return new LoanCursor(loan.getStartDate(), loan.getId());
+    }
+
+    public static LoanCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new LoanCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = startDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Specification<Loan> toSpecification() {
+        return LoanSpecifications.after(startDate, id);
+    }
+}
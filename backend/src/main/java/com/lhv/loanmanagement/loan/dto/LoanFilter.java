@@ -0,0 +1,30 @@
+package com.lhv.loanmanagement.loan.dto;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+import static com.lhv.loanmanagement.loan.LoanSpecifications.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanFilter {
+
+    private LoanType loanType;
+    private LocalDate startDateFrom;
+    private LocalDate startDateTo;
+
+    public Specification<Loan> toSpecification() {
+        return Specification.where(hasLoanType(loanType))
+                .and(startDateFrom(startDateFrom))
+                .and(startDateTo(startDateTo));
+    }
+}
@@ -0,0 +1,18 @@
+package com.lhv.loanmanagement.loan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanPageResponse {
+
+    private List<LoanResponse> items;
+    private String nextCursor;
+}
@@ -22,19 +22,30 @@ public class LoanResponse {
     private LoanType loanType;
     private BigDecimal amount;
     private Integer periodMonths;
+    // The contracted rate; currentInterestRate is the rate in force after rate resets
     private BigDecimal annualInterestRate;
+    private BigDecimal currentInterestRate;
     private ScheduleType scheduleType;
     private LocalDate startDate;
+    private String referenceIndex;
+    private BigDecimal margin;
+    // The contract APR; prepayments and rate resets do not change it
+    private BigDecimal annualPercentageRate;
 
-    public static LoanResponse from(Loan loan) {
+    public static LoanResponse from(Loan loan, BigDecimal annualPercentageRate) {
         return LoanResponse.builder()
                 .id(loan.getId())
                 .loanType(loan.getLoanType())
                 .amount(loan.getAmount())
                 .periodMonths(loan.getPeriodMonths())
                 .annualInterestRate(loan.getAnnualInterestRate())
+                .currentInterestRate(loan.getCurrentInterestRate() != null
+                        ? loan.getCurrentInterestRate() : loan.getAnnualInterestRate())
                 .scheduleType(loan.getScheduleType())
                 .startDate(loan.getStartDate())
+                .referenceIndex(loan.getReferenceIndex())
+                .margin(loan.getMargin())
+                .annualPercentageRate(annualPercentageRate)
                 .build();
     }
 }
@@ -1,11 +1,13 @@
 package com.lhv.loanmanagement.loan.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -15,5 +17,11 @@ import java.util.List;
 public class ScheduleResponse {
 
     private List<ScheduleItem> items;
+
+    /**
+     * Only set on quotes; stored loans carry it on their {@link LoanResponse}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal annualPercentageRate;
 }
 
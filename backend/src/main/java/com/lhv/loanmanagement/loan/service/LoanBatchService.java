@@ -0,0 +1,87 @@
+package com.lhv.loanmanagement.loan.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.dto.BatchCreateLoansResponse;
+import com.lhv.loanmanagement.loan.dto.BatchItemResult;
+import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class LoanBatchService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final LoanService loanService;
+    private final Validator validator;
+
+    public LoanBatchService(LoanService loanService, Validator validator) {
+        this.loanService = loanService;
+        this.validator = validator;
+    }
+
+    public BatchCreateLoansResponse createAll(List<CreateLoanRequest> requests) {
+        Assert.notEmpty(requests, "Batch must contain at least one loan");
+        Assert.isTrue(requests.size() <= MAX_BATCH_SIZE, "Batch must contain at most " + MAX_BATCH_SIZE + " loans");
+        
+        log.debug("Received batch of {} loans", requests.size());
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Loan> validLoans = new ArrayList<>(requests.size());
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        
+        for (int index = 0; index < requests.size(); index++) {
+            Map<String, String> fieldErrors = validate(requests.get(index));
+            if (fieldErrors.isEmpty()) {
+                validLoans.add(requests.get(index).toEntity());
+                validIndexes.add(index);
+            } else {
+                results[index] = BatchItemResult.builder()
+                        .index(index)
+                        .status(BatchItemResult.Status.INVALID)
+                        .fieldErrors(fieldErrors)
+                        .build();
+            }
+        }
+        
+        List<Loan> saved = validLoans.isEmpty() ? List.of() : loanService.createAll(validLoans);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.builder()
+                    .index(index)
+                    .status(BatchItemResult.Status.CREATED)
+                    .id(saved.get(i).getId())
+                    .build();
+        }
+        
+        log.info("Processed loan batch: created={}, invalid={}", saved.size(), requests.size() - saved.size());
+        return BatchCreateLoansResponse.builder()
+                .created(saved.size())
+                .invalid(requests.size() - saved.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private Map<String, String> validate(CreateLoanRequest request) {
+        if (request == null) {
+            return Map.of("request", "Loan cannot be null");
+        }
+        
+        Set<ConstraintViolation<CreateLoanRequest>> violations = validator.validate(request);
+        Map<String, String> fieldErrors = new HashMap<>();
+        violations.forEach(violation ->
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+        return fieldErrors;
+    }
+}
@@ -0,0 +1,61 @@
+package com.lhv.loanmanagement.loan.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.dto.LoanResponse;
+import com.lhv.loanmanagement.schedule.service.AprService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class LoanExportService {
+
+    private final LoanRepository loanRepository;
+    private final EntityManager entityManager;
+    private final AprService aprService;
+    private final ObjectMapper objectMapper;
+
+    public LoanExportService(LoanRepository loanRepository, EntityManager entityManager, AprService aprService,
+                             ObjectMapper objectMapper) {
+        this.loanRepository = loanRepository;
+        this.entityManager = entityManager;
+        this.aprService = aprService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream outputStream) throws IOException {
+        Assert.notNull(outputStream, "Output stream cannot be null");
+        
+        log.info("Starting loan export");
+        long count = 0;
+        try (Stream<Loan> loans = loanRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            
+            Iterator<Loan> iterator = loans.iterator();
+            while (iterator.hasNext()) {
+                Loan loan = iterator.next();
+                generator.writeObject(LoanResponse.from(loan, aprService.calculate(loan)));
+                generator.writeRaw('\n');
+                // Keep the persistence context empty so memory stays flat for any table size
+                entityManager.detach(loan);
+                count++;
+            }
+        }
+        
+        log.info("Exported {} loans", count);
+        return count;
+    }
+}
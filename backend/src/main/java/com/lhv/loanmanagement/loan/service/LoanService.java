@@ -2,23 +2,68 @@ package com.lhv.loanmanagement.loan.service;
 
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.LoansCreatedEvent;
+import com.lhv.loanmanagement.loan.cache.LoanCache;
+import com.lhv.loanmanagement.loan.dto.LoanCursor;
+import com.lhv.loanmanagement.loan.dto.LoanFilter;
 import com.lhv.loanmanagement.loan.exception.LoanNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
 @Service
 public class LoanService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final Sort KEYSET_ORDER = Sort.by("startDate", "id");
+
     private final LoanRepository loanRepository;
+    private final LoanCache loanCache;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Timer createTimer;
+    private final Timer createAllTimer;
+    private final Timer findByIdTimer;
+    private final Timer findByIdDbTimer;
+    private final Timer findAllTimer;
+    private final Timer findPageTimer;
+    private final DistributionSummary resultSize;
 
-    public LoanService(LoanRepository loanRepository) {
+    public LoanService(LoanRepository loanRepository, LoanCache loanCache, EntityManager entityManager,
+                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
         this.loanRepository = loanRepository;
+        this.loanCache = loanCache;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.createAllTimer = operationTimer(meterRegistry, "createAll");
+        this.findByIdTimer = operationTimer(meterRegistry, "findById");
+        this.findByIdDbTimer = operationTimer(meterRegistry, "findById.db");
+        this.findAllTimer = operationTimer(meterRegistry, "findAll");
+        this.findPageTimer = operationTimer(meterRegistry, "findPage");
+        this.resultSize = DistributionSummary.builder("loan.service.results")
+                .description("Loans written or returned per loan service call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -29,17 +74,47 @@ public class LoanService {
                 loan.getLoanType(), loan.getAmount(), loan.getPeriodMonths(),
                 loan.getAnnualInterestRate(), loan.getScheduleType(), loan.getStartDate());
 
-        Loan saved = loanRepository.save(loan);
+        Loan saved = createTimer.record(() -> loanRepository.save(loan));
+        eventPublisher.publishEvent(new LoansCreatedEvent(List.of(saved)));
         log.info("Created loan with id={}", saved.getId());
         return saved;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
+    public List<Loan> createAll(List<Loan> loans) {
+        Assert.notNull(loans, "Loans cannot be null");
+        
+        log.debug("Creating {} loans in JDBC batches of {}", loans.size(), batchSize);
+        createAllTimer.record(() -> {
+            for (int i = 0; i < loans.size(); i++) {
+                // Ids are generated in-process, so persist() does not hit the database until the batch is flushed
+                entityManager.persist(loans.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        resultSize.record(loans.size());
+        eventPublisher.publishEvent(new LoansCreatedEvent(List.copyOf(loans)));
+        
+        log.info("Created {} loans", loans.size());
+        return loans;
+    }
+
+    /**
+     * Not transactional: cache hits must not take a connection, a miss runs in the repository's own transaction.
+     * The {@code findById} timer covers every lookup, cache hits included; {@code findById.db} only the database
+     * reads of misses.
+     */
     public Loan findById(UUID id) {
         Assert.notNull(id, "Loan ID cannot be null");
         
         log.debug("Finding loan by id={}", id);
-        return loanRepository.findById(id)
+        return findByIdTimer.record(() -> loanCache.get(id,
+                        key -> findByIdDbTimer.record(() -> loanRepository.findById(key))))
                 .orElseThrow(() -> {
                     log.warn("Loan not found with id={}", id);
                     return new LoanNotFoundException("Loan not found with id: " + id);
@@ -49,9 +124,38 @@ public class LoanService {
     @Transactional(readOnly = true)
     public List<Loan> findAll() {
         log.debug("Finding all loans");
-        List<Loan> loans = loanRepository.findAll();
+        List<Loan> loans = findAllTimer.record(() -> loanRepository.findAll());
+        resultSize.record(loans.size());
         log.info("Found {} loans", loans.size());
         return loans;
     }
-}
 
+    @Transactional(readOnly = true)
+    public Window<Loan> findPage(LoanFilter filter, LoanCursor cursor, int size) {
+        Assert.notNull(filter, "Loan filter cannot be null");
+        Assert.isTrue(size > 0 && size <= MAX_PAGE_SIZE, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        
+        log.debug("Finding loans page: filter={}, cursor={}, size={}", filter, cursor, size);
+        Specification<Loan> specification = cursor == null
+                ? filter.toSpecification() : filter.toSpecification().and(cursor.toSpecification());
+        // One row beyond the page tells whether there is a next one
+        List<Loan> loans = findPageTimer.record(() -> loanRepository.findBy(specification,
+                query -> query.sortBy(KEYSET_ORDER).limit(size + 1).all()));
+        boolean hasNext = loans.size() > size;
+        List<Loan> content = hasNext ? loans.subList(0, size) : loans;
+        Window<Loan> page = Window.from(content,
+                index -> ScrollPosition.forward(Map.of("startDate", content.get(index).getStartDate(),
+                        "id", content.get(index).getId())), hasNext);
+        resultSize.record(page.size());
+        log.debug("Found {} loans, hasNext={}", page.size(), page.hasNext());
+        return page;
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("loan.service")
+                .description("Latency of loan service operations")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
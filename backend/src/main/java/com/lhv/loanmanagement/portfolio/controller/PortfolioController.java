@@ -0,0 +1,60 @@
+package com.lhv.loanmanagement.portfolio.controller;
+
+import com.lhv.loanmanagement.portfolio.dto.CashflowProjectionResponse;
+import com.lhv.loanmanagement.portfolio.dto.StressTestRequest;
+import com.lhv.loanmanagement.portfolio.dto.StressTestResponse;
+import com.lhv.loanmanagement.portfolio.model.CashflowAccumulator;
+import com.lhv.loanmanagement.portfolio.model.StressAccumulator;
+import com.lhv.loanmanagement.portfolio.service.CashflowProjectionService;
+import com.lhv.loanmanagement.portfolio.service.StressTestService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/portfolio")
+public class PortfolioController {
+
+    private final CashflowProjectionService cashflowProjectionService;
+    private final StressTestService stressTestService;
+
+    public PortfolioController(CashflowProjectionService cashflowProjectionService,
+                               StressTestService stressTestService) {
+        this.cashflowProjectionService = cashflowProjectionService;
+        this.stressTestService = stressTestService;
+    }
+
+    @GetMapping("/cashflows")
+    public ResponseEntity<CashflowProjectionResponse> getCashflows(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        log.debug("Received request to project portfolio cash flows: from={}, to={}", from, to);
+        
+        CashflowAccumulator projection = cashflowProjectionService.project(from, to);
+        
+        return ResponseEntity.ok(CashflowProjectionResponse.from(projection));
+    }
+
+    @PostMapping("/stress")
+    public ResponseEntity<StressTestResponse> stress(@Valid @RequestBody StressTestRequest request) {
+        YearMonth from = request.getFrom() != null ? request.getFrom() : YearMonth.now();
+        log.debug("Received request to stress test portfolio: shocks={}, from={}, months={}, variableRateOnly={}",
+                request.getShocksBasisPoints(), from, request.getMonths(), request.isVariableRateOnly());
+        
+        List<StressAccumulator> results = stressTestService.stress(request.getShocksBasisPoints(), from,
+                request.getMonths(), request.isVariableRateOnly());
+        
+        return ResponseEntity.ok(StressTestResponse.from(results));
+    }
+}
@@ -0,0 +1,46 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import com.lhv.loanmanagement.portfolio.model.CashflowAccumulator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toAmount;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashflowProjectionResponse {
+
+    private YearMonth from;
+    private YearMonth to;
+    private long loanCount;
+    private List<MonthlyCashflow> months;
+
+    public static CashflowProjectionResponse from(CashflowAccumulator accumulator) {
+        List<MonthlyCashflow> months = new ArrayList<>(accumulator.months());
+        for (int offset = 0; offset < accumulator.months(); offset++) {
+            long principal = accumulator.getPrincipal(offset);
+            long interest = accumulator.getInterest(offset);
+            months.add(MonthlyCashflow.builder()
+                    .month(accumulator.getFrom().plusMonths(offset))
+                    .principal(toAmount(principal))
+                    .interest(toAmount(interest))
+                    .total(toAmount(Math.addExact(principal, interest)))
+                    .build());
+        }
+        
+        return CashflowProjectionResponse.builder()
+                .from(accumulator.getFrom())
+                .to(accumulator.getFrom().plusMonths(accumulator.months() - 1))
+                .loanCount(accumulator.getLoanCount())
+                .months(months)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyCashflow {
+
+    private YearMonth month;
+    private BigDecimal principal;
+    private BigDecimal interest;
+    private BigDecimal total;
+}
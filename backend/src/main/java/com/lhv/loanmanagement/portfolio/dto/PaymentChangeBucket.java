@@ -0,0 +1,16 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentChangeBucket {
+
+    private String range;
+    private long loanCount;
+}
@@ -0,0 +1,75 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import com.lhv.loanmanagement.portfolio.model.CashflowAccumulator;
+import com.lhv.loanmanagement.portfolio.model.StressAccumulator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lhv.loanmanagement.portfolio.model.StressAccumulator.PAYMENT_CHANGE_BOUNDS;
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toAmount;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressScenarioResult {
+
+    private int shockBasisPoints;
+    private BigDecimal totalInterest;
+    private BigDecimal totalInterestDelta;
+    private List<StressedMonthlyCashflow> months;
+    private List<PaymentChangeBucket> paymentChangeBuckets;
+
+    /**
+     * Maps a scenario with its deltas against the unshocked {@code base}.
+     */
+    public static StressScenarioResult from(StressAccumulator scenario, StressAccumulator base) {
+        CashflowAccumulator cashflows = scenario.getCashflows();
+        CashflowAccumulator baseCashflows = base.getCashflows();
+        List<StressedMonthlyCashflow> months = new ArrayList<>(cashflows.months());
+        for (int offset = 0; offset < cashflows.months(); offset++) {
+            long principal = cashflows.getPrincipal(offset);
+            long interest = cashflows.getInterest(offset);
+            long total = Math.addExact(principal, interest);
+            long baseInterest = baseCashflows.getInterest(offset);
+            long baseTotal = Math.addExact(baseCashflows.getPrincipal(offset), baseInterest);
+            months.add(StressedMonthlyCashflow.builder()
+                    .month(cashflows.getFrom().plusMonths(offset))
+                    .principal(toAmount(principal))
+                    .interest(toAmount(interest))
+                    .total(toAmount(total))
+                    .interestDelta(toAmount(Math.subtractExact(interest, baseInterest)))
+                    .totalDelta(toAmount(Math.subtractExact(total, baseTotal)))
+                    .build());
+        }
+        
+        List<PaymentChangeBucket> buckets = new ArrayList<>(PAYMENT_CHANGE_BOUNDS.length + 1);
+        for (int bucket = 0; bucket <= PAYMENT_CHANGE_BOUNDS.length; bucket++) {
+            buckets.add(new PaymentChangeBucket(range(bucket), scenario.getPaymentChangeCount(bucket)));
+        }
+        
+        return StressScenarioResult.builder()
+                .shockBasisPoints(scenario.getShockBasisPoints())
+                .totalInterest(toAmount(scenario.getTotalInterest()))
+                .totalInterestDelta(toAmount(Math.subtractExact(scenario.getTotalInterest(), base.getTotalInterest())))
+                .months(months)
+                .paymentChangeBuckets(buckets)
+                .build();
+    }
+
+    private static String range(int bucket) {
+        if (bucket == 0) {
+            return "<" + PAYMENT_CHANGE_BOUNDS[0] + "%";
+        }
+        if (bucket == PAYMENT_CHANGE_BOUNDS.length) {
+            return PAYMENT_CHANGE_BOUNDS[bucket - 1] + "%+";
+        }
+        return PAYMENT_CHANGE_BOUNDS[bucket - 1] + "-" + PAYMENT_CHANGE_BOUNDS[bucket] + "%";
+    }
+}
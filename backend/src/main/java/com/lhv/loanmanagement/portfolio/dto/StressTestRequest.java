@@ -0,0 +1,42 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressTestRequest {
+
+    @NotEmpty(message = "At least one rate shock is required")
+    @Size(max = 50, message = "At most 50 rate shocks allowed")
+    private List<@NotNull(message = "Rate shock is required")
+            @Min(value = -2000, message = "Rate shock must be at least -2000 basis points")
+            @Max(value = 2000, message = "Rate shock must be at most 2000 basis points") Integer> shocksBasisPoints;
+
+    /**
+     * First month projected; defaults to the current month.
+     */
+    private YearMonth from;
+
+    @Min(value = 1, message = "Window must span at least 1 month")
+    @Max(value = 1200, message = "Window must span at most 1200 months")
+    @Builder.Default
+    private int months = 12;
+
+    /**
+     * Shocks only loans priced off a reference index, leaving fixed-rate loans at their rates.
+     */
+    private boolean variableRateOnly;
+}
@@ -0,0 +1,46 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import com.lhv.loanmanagement.portfolio.model.StressAccumulator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toAmount;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressTestResponse {
+
+    private YearMonth from;
+    private YearMonth to;
+    private long loanCount;
+    private BigDecimal baseTotalInterest;
+    private List<MonthlyCashflow> baseMonths;
+    private List<StressScenarioResult> scenarios;
+
+    /**
+     * Maps stress test results: the unshocked base first, then one entry per scenario.
+     */
+    public static StressTestResponse from(List<StressAccumulator> results) {
+        StressAccumulator base = results.get(0);
+        CashflowProjectionResponse baseProjection = CashflowProjectionResponse.from(base.getCashflows());
+        
+        return StressTestResponse.builder()
+                .from(baseProjection.getFrom())
+                .to(baseProjection.getTo())
+                .loanCount(baseProjection.getLoanCount())
+                .baseTotalInterest(toAmount(base.getTotalInterest()))
+                .baseMonths(baseProjection.getMonths())
+                .scenarios(results.subList(1, results.size()).stream()
+                        .map(scenario -> StressScenarioResult.from(scenario, base))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.lhv.loanmanagement.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressedMonthlyCashflow {
+
+    private YearMonth month;
+    private BigDecimal principal;
+    private BigDecimal interest;
+    private BigDecimal total;
+    private BigDecimal interestDelta;
+    private BigDecimal totalDelta;
+}
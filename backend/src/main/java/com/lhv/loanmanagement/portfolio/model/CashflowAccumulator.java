@@ -0,0 +1,65 @@
+package com.lhv.loanmanagement.portfolio.model;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Per-month principal and interest totals in cents for a fixed window of months. Not thread-safe:
+ * each worker fills its own accumulator and the results are merged afterwards.
+ */
+public class CashflowAccumulator {
+
+    private final YearMonth from;
+    private final long[] principals;
+    private final long[] interests;
+    private long loanCount;
+
+    public CashflowAccumulator(YearMonth from, int months) {
+        this.from = from;
+        this.principals = new long[months];
+        this.interests = new long[months];
+    }
+
+    public YearMonth getFrom() {
+        return from;
+    }
+
+    public int months() {
+        return principals.length;
+    }
+
+    /**
+     * Number of whole months from the start of the window to {@code month}; negative before the window.
+     */
+    public int offsetOf(YearMonth month) {
+        return Math.toIntExact(from.until(month, ChronoUnit.MONTHS));
+    }
+
+    public void add(int offset, long principal, long interest) {
+        principals[offset] = Math.addExact(principals[offset], principal);
+        interests[offset] = Math.addExact(interests[offset], interest);
+    }
+
+    public void countLoan() {
+        loanCount++;
+    }
+
+    public long getPrincipal(int offset) {
+        return principals[offset];
+    }
+
+    public long getInterest(int offset) {
+        return interests[offset];
+    }
+
+    public long getLoanCount() {
+        return loanCount;
+    }
+
+    public void merge(CashflowAccumulator other) {
+        for (int offset = 0; offset < principals.length; offset++) {
+            add(offset, other.principals[offset], other.interests[offset]);
+        }
+        loanCount += other.loanCount;
+    }
+}
@@ -0,0 +1,72 @@
+package com.lhv.loanmanagement.portfolio.model;
+
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+
+import java.math.BigDecimal;
+
+/**
+ * Outstanding loans at the start of a window in presized parallel arrays: the state a rate scenario needs to
+ * project a loan in closed form, without calculating its schedule. Balances are in cents, rates in percent.
+ */
+public class PortfolioSnapshot {
+
+    private final double[] balances;
+    private final int[] remainingMonths;
+    private final double[] annualRates;
+    private final boolean[] equalPrincipal;
+    private final boolean[] variableRate;
+    private final int[] firstOffsets;
+    private int size;
+
+    public PortfolioSnapshot(int capacity) {
+        this.balances = new double[capacity];
+        this.remainingMonths = new int[capacity];
+        this.annualRates = new double[capacity];
+        this.equalPrincipal = new boolean[capacity];
+        this.variableRate = new boolean[capacity];
+        this.firstOffsets = new int[capacity];
+    }
+
+    /**
+     * Adds a loan owing {@code balance} cents over {@code remainingMonths} installments, the first of which falls
+     * due {@code firstOffset} months into the window.
+     */
+    public void add(long balance, int remainingMonths, BigDecimal annualRate, ScheduleType scheduleType,
+                    boolean variableRate, int firstOffset) {
+        this.balances[size] = balance;
+        this.remainingMonths[size] = remainingMonths;
+        this.annualRates[size] = annualRate.doubleValue();
+        this.equalPrincipal[size] = scheduleType == ScheduleType.EQUAL_PRINCIPAL;
+        this.variableRate[size] = variableRate;
+        this.firstOffsets[size] = firstOffset;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getBalance(int index) {
+        return balances[index];
+    }
+
+    public int getRemainingMonths(int index) {
+        return remainingMonths[index];
+    }
+
+    public double getAnnualRate(int index) {
+        return annualRates[index];
+    }
+
+    public boolean isEqualPrincipal(int index) {
+        return equalPrincipal[index];
+    }
+
+    public boolean isVariableRate(int index) {
+        return variableRate[index];
+    }
+
+    public int getFirstOffset(int index) {
+        return firstOffsets[index];
+    }
+}
@@ -0,0 +1,62 @@
+package com.lhv.loanmanagement.portfolio.model;
+
+import java.time.YearMonth;
+
+/**
+ * Results of one rate scenario in cents: monthly cash flows over the window, remaining lifetime interest, and
+ * loan counts by relative change of the next payment. Not thread-safe; workers fill their own and merge.
+ */
+public class StressAccumulator {
+
+    /**
+     * Lower bounds in percent of the payment change buckets after the first one, which holds payment decreases.
+     */
+    public static final int[] PAYMENT_CHANGE_BOUNDS = {0, 5, 10, 20, 30};
+
+    private final int shockBasisPoints;
+    private final CashflowAccumulator cashflows;
+    private final long[] paymentChangeCounts = new long[PAYMENT_CHANGE_BOUNDS.length + 1];
+    private long totalInterest;
+
+    public StressAccumulator(int shockBasisPoints, YearMonth from, int months) {
+        this.shockBasisPoints = shockBasisPoints;
+        this.cashflows = new CashflowAccumulator(from, months);
+    }
+
+    public int getShockBasisPoints() {
+        return shockBasisPoints;
+    }
+
+    public CashflowAccumulator getCashflows() {
+        return cashflows;
+    }
+
+    public long getTotalInterest() {
+        return totalInterest;
+    }
+
+    public long getPaymentChangeCount(int bucket) {
+        return paymentChangeCounts[bucket];
+    }
+
+    public void addInterest(long interest) {
+        totalInterest = Math.addExact(totalInterest, interest);
+    }
+
+    public void countPaymentChange(double basePayment, double payment) {
+        double changePercent = (payment - basePayment) / basePayment * 100;
+        int bucket = 0;
+        while (bucket < PAYMENT_CHANGE_BOUNDS.length && changePercent >= PAYMENT_CHANGE_BOUNDS[bucket]) {
+            bucket++;
+        }
+        paymentChangeCounts[bucket]++;
+    }
+
+    public void merge(StressAccumulator other) {
+        cashflows.merge(other.cashflows);
+        addInterest(other.totalInterest);
+        for (int bucket = 0; bucket < paymentChangeCounts.length; bucket++) {
+            paymentChangeCounts[bucket] += other.paymentChangeCounts[bucket];
+        }
+    }
+}
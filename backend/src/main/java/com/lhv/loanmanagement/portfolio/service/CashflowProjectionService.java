@@ -0,0 +1,138 @@
+package com.lhv.loanmanagement.portfolio.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.portfolio.model.CashflowAccumulator;
+import com.lhv.loanmanagement.schedule.calculator.ScheduleWorkerThread;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class CashflowProjectionService {
+
+    public static final int MAX_WINDOW_MONTHS = 1200;
+
+    private final LoanRepository loanRepository;
+    private final EntityManager entityManager;
+    private final RepaymentScheduleService repaymentScheduleService;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public CashflowProjectionService(LoanRepository loanRepository, EntityManager entityManager,
+                                     RepaymentScheduleService repaymentScheduleService,
+                                     SegmentedScheduleService segmentedScheduleService,
+                                     @Value("${loan-management.portfolio.parallelism:0}") int parallelism,
+                                     @Value("${loan-management.portfolio.chunk-size:1000}") int chunkSize) {
+        Assert.isTrue(parallelism >= 0, "Parallelism cannot be negative");
+        Assert.isTrue(chunkSize > 0, "Chunk size must be positive");
+        this.loanRepository = loanRepository;
+        this.entityManager = entityManager;
+        this.repaymentScheduleService = repaymentScheduleService;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+                ScheduleWorkerThread.FACTORY, null, false);
+        this.chunkSize = chunkSize;
+        
+        log.info("Initialized CashflowProjectionService with parallelism={}, chunkSize={}",
+                pool.getParallelism(), chunkSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CashflowAccumulator project(YearMonth from, YearMonth to) {
+        Assert.notNull(from, "From month cannot be null");
+        Assert.notNull(to, "To month cannot be null");
+        Assert.isTrue(!to.isBefore(from), "To month must not be before from month");
+        long months = from.until(to, ChronoUnit.MONTHS) + 1;
+        Assert.isTrue(months <= MAX_WINDOW_MONTHS, "Window must span at most " + MAX_WINDOW_MONTHS + " months");
+        
+        log.info("Projecting portfolio cash flows from {} to {}", from, to);
+        CashflowAccumulator total = new CashflowAccumulator(from, (int) months);
+        // The database cursor is read on this thread while workers compute; limit chunks held in memory
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<CashflowAccumulator>> inFlight = new ArrayDeque<>(maxInFlight);
+        
+        try (Stream<Loan> loans = loanRepository.streamStartingOnOrBefore(to.atEndOfMonth())) {
+            Iterator<Loan> iterator = loans.iterator();
+            List<Loan> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                Loan loan = iterator.next();
+                entityManager.detach(loan);
+                chunk.add(loan);
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    if (inFlight.size() == maxInFlight) {
+                        total.merge(inFlight.removeFirst().join());
+                    }
+                    // Only loans with prepayments or rate resets have segments; skip the queries otherwise
+                    List<UUID> servicedIds = chunk.stream().filter(l -> l.getRevision() > 0).map(Loan::getId).toList();
+                    Map<UUID, List<ScheduleSegment>> segments = servicedIds.isEmpty()
+                            ? Map.of() : segmentedScheduleService.findSegments(servicedIds);
+                    List<Loan> submitted = chunk;
+                    inFlight.addLast(pool.submit(() -> projectChunk(submitted, segments, from, (int) months)));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                total.merge(inFlight.removeFirst().join());
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        
+        log.info("Projected cash flows of {} loans from {} to {}", total.getLoanCount(), from, to);
+        return total;
+    }
+
+    private CashflowAccumulator projectChunk(List<Loan> loans, Map<UUID, List<ScheduleSegment>> segments,
+                                             YearMonth from, int months) {
+        CashflowAccumulator accumulator = new CashflowAccumulator(from, months);
+        for (Loan loan : loans) {
+            int startOffset = accumulator.offsetOf(YearMonth.from(loan.getStartDate()));
+            // Installment i falls due in the i-th month after the start month; only visit those in the window
+            int first = Math.max(0, -startOffset);
+            int last = Math.min(loan.getPeriodMonths(), months - startOffset);
+            if (first >= last) {
+                continue;
+            }
+            
+            // Serviced loans follow their segmented schedule, which may end before the contracted term
+            List<ScheduleSegment> loanSegments = segments.getOrDefault(loan.getId(), List.of());
+            ScheduleColumns schedule = loanSegments.isEmpty()
+                    ? repaymentScheduleService.calculateScheduleAmounts(loan)
+                    : segmentedScheduleService.getSchedule(loan, loanSegments);
+            for (int index = first; index < Math.min(last, schedule.size()); index++) {
+                accumulator.add(startOffset + index, schedule.getPrincipal(index), schedule.getInterest(index));
+            }
+            accumulator.countLoan();
+        }
+        return accumulator;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,234 @@
+package com.lhv.loanmanagement.portfolio.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.portfolio.model.PortfolioSnapshot;
+import com.lhv.loanmanagement.portfolio.model.StressAccumulator;
+import com.lhv.loanmanagement.schedule.calculator.ScheduleWorkerThread;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Interest rate stress tests. The portfolio is read once into {@link PortfolioSnapshot}s holding each loan's
+ * outstanding balance, remaining term and rate at the start of the window. Every scenario then projects every
+ * snapshot chunk in closed form on primitive doubles, as one task per scenario and chunk, so no schedule is
+ * calculated per scenario. Amounts are rounded to cents per loan and month and differ from the exact schedules
+ * by rounding only.
+ */
+@Slf4j
+@Service
+public class StressTestService {
+
+    public static final int MAX_SCENARIOS = 50;
+    public static final int MAX_SHOCK_BASIS_POINTS = 2000;
+
+    private static final double BASIS_POINTS_PER_PERCENT = 100;
+
+    private final LoanRepository loanRepository;
+    private final EntityManager entityManager;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public StressTestService(LoanRepository loanRepository, EntityManager entityManager,
+                             SegmentedScheduleService segmentedScheduleService,
+                             @Value("${loan-management.portfolio.parallelism:0}") int parallelism,
+                             @Value("${loan-management.portfolio.chunk-size:1000}") int chunkSize) {
+        Assert.isTrue(parallelism >= 0, "Parallelism cannot be negative");
+        Assert.isTrue(chunkSize > 0, "Chunk size must be positive");
+        this.loanRepository = loanRepository;
+        this.entityManager = entityManager;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+                ScheduleWorkerThread.FACTORY, null, false);
+        this.chunkSize = chunkSize;
+        
+        log.info("Initialized StressTestService with parallelism={}, chunkSize={}", pool.getParallelism(), chunkSize);
+    }
+
+    /**
+     * Projects the portfolio from {@code from} on under the current rates and under each rate shock. Results are
+     * returned in the order of {@code shocksBasisPoints}, preceded by the unshocked base.
+     */
+    @Transactional(readOnly = true)
+    public List<StressAccumulator> stress(List<Integer> shocksBasisPoints, YearMonth from, int months,
+                                          boolean variableRateOnly) {
+        Assert.notEmpty(shocksBasisPoints, "At least one scenario is required");
+        Assert.isTrue(shocksBasisPoints.size() <= MAX_SCENARIOS, "At most " + MAX_SCENARIOS + " scenarios allowed");
+        shocksBasisPoints.forEach(shock -> Assert.isTrue(shock != null && Math.abs(shock) <= MAX_SHOCK_BASIS_POINTS,
+                "Shocks must be at most " + MAX_SHOCK_BASIS_POINTS + " basis points in either direction"));
+        Assert.notNull(from, "From month cannot be null");
+        Assert.isTrue(months >= 1 && months <= CashflowProjectionService.MAX_WINDOW_MONTHS,
+                "Window must span between 1 and " + CashflowProjectionService.MAX_WINDOW_MONTHS + " months");
+
+        log.info("Stress testing portfolio from {} over {} months with shocks {}", from, months, shocksBasisPoints);
+        List<PortfolioSnapshot> snapshots = loadSnapshots(from);
+        
+        List<Integer> shocks = new ArrayList<>(shocksBasisPoints.size() + 1);
+        shocks.add(0);
+        shocks.addAll(shocksBasisPoints);
+        List<List<ForkJoinTask<StressAccumulator>>> tasks = new ArrayList<>(shocks.size());
+        try {
+            for (int shock : shocks) {
+                List<ForkJoinTask<StressAccumulator>> scenarioTasks = new ArrayList<>(snapshots.size());
+                for (PortfolioSnapshot snapshot : snapshots) {
+                    scenarioTasks.add(pool.submit(() -> stress(snapshot, shock, from, months, variableRateOnly)));
+                }
+                tasks.add(scenarioTasks);
+            }
+            
+            List<StressAccumulator> results = new ArrayList<>(shocks.size());
+            for (int scenario = 0; scenario < shocks.size(); scenario++) {
+                StressAccumulator result = new StressAccumulator(shocks.get(scenario), from, months);
+                tasks.get(scenario).forEach(task -> result.merge(task.join()));
+                results.add(result);
+            }
+            log.info("Stress tested {} loans under {} scenarios", results.get(0).getCashflows().getLoanCount(),
+                    shocksBasisPoints.size());
+            return results;
+        } finally {
+            tasks.forEach(scenarioTasks -> scenarioTasks.forEach(task -> task.cancel(true)));
+        }
+    }
+
+    /**
+     * Projects the loans of a snapshot with their rates moved by {@code shockBasisPoints}, floored at zero.
+     */
+    static StressAccumulator stress(PortfolioSnapshot snapshot, int shockBasisPoints, YearMonth from, int months,
+                                    boolean variableRateOnly) {
+        StressAccumulator accumulator = new StressAccumulator(shockBasisPoints, from, months);
+        double shock = shockBasisPoints / BASIS_POINTS_PER_PERCENT;
+        for (int index = 0; index < snapshot.size(); index++) {
+            double balance = snapshot.getBalance(index);
+            int n = snapshot.getRemainingMonths(index);
+            double baseRate = monthlyRate(snapshot.getAnnualRate(index));
+            double rate = variableRateOnly && !snapshot.isVariableRate(index)
+                    ? baseRate
+                    : monthlyRate(Math.max(0, snapshot.getAnnualRate(index) + shock));
+            int offset = snapshot.getFirstOffset(index);
+            int last = Math.min(n, months - offset);
+            
+            if (snapshot.isEqualPrincipal(index)) {
+                double principal = balance / n;
+                accumulator.countPaymentChange(principal + balance * baseRate, principal + balance * rate);
+                accumulator.addInterest(Math.round(rate * balance * (n + 1) / 2));
+                for (int month = 0; month < last; month++) {
+                    accumulator.getCashflows().add(offset + month, Math.round(principal),
+                            Math.round(rate * (balance - month * principal)));
+                }
+            } else {
+                double payment = annuityPayment(balance, n, rate);
+                accumulator.countPaymentChange(annuityPayment(balance, n, baseRate), payment);
+                accumulator.addInterest(Math.round(payment * n - balance));
+                double remaining = balance;
+                for (int month = 0; month < last; month++) {
+                    double interest = remaining * rate;
+                    accumulator.getCashflows().add(offset + month, Math.round(payment - interest),
+                            Math.round(interest));
+                    remaining -= payment - interest;
+                }
+            }
+            accumulator.getCashflows().countLoan();
+        }
+        return accumulator;
+    }
+
+    private List<PortfolioSnapshot> loadSnapshots(YearMonth from) {
+        LocalDate asOf = from.atDay(1).minusDays(1);
+        List<PortfolioSnapshot> snapshots = new ArrayList<>();
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<PortfolioSnapshot>> inFlight = new ArrayDeque<>(maxInFlight);
+        
+        try (Stream<Loan> loans = loanRepository.streamAll()) {
+            Iterator<Loan> iterator = loans.iterator();
+            List<Loan> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                Loan loan = iterator.next();
+                entityManager.detach(loan);
+                chunk.add(loan);
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    if (inFlight.size() == maxInFlight) {
+                        snapshots.add(inFlight.removeFirst().join());
+                    }
+                    // Only loans with prepayments or rate resets have segments; skip the queries otherwise
+                    List<UUID> servicedIds = chunk.stream().filter(l -> l.getRevision() > 0).map(Loan::getId).toList();
+                    Map<UUID, List<ScheduleSegment>> segments = servicedIds.isEmpty()
+                            ? Map.of() : segmentedScheduleService.findSegments(servicedIds);
+                    List<Loan> submitted = chunk;
+                    inFlight.addLast(pool.submit(() -> snapshot(submitted, segments, from, asOf)));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                snapshots.add(inFlight.removeFirst().join());
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Captures the loans still owing at {@code asOf}, from their exact schedules, as of the first installment due
+     * after it.
+     */
+    PortfolioSnapshot snapshot(List<Loan> loans, Map<UUID, List<ScheduleSegment>> segments, YearMonth from,
+                               LocalDate asOf) {
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(loans.size());
+        for (Loan loan : loans) {
+            List<ScheduleSegment> loanSegments = segments.getOrDefault(loan.getId(), List.of());
+            int segmentStart = SegmentedScheduleService.segmentStart(loanSegments);
+            int installmentIndex = Math.max(segmentStart,
+                    ScheduleColumns.installmentsDueOnOrBefore(loan.getStartDate(), asOf));
+            Loan current = SegmentedScheduleService.currentSegment(loan, loanSegments);
+            if (installmentIndex - segmentStart >= current.getPeriodMonths()) {
+                continue;
+            }
+            
+            SegmentedScheduleService.Checkpoint checkpoint =
+                    segmentedScheduleService.checkpoint(loan, loanSegments, installmentIndex);
+            YearMonth firstMonth = YearMonth.from(ScheduleColumns.paymentDate(loan.getStartDate(), installmentIndex));
+            snapshot.add(checkpoint.outstandingPrincipal(), checkpoint.remainingInstallments(),
+                    checkpoint.annualInterestRate(), loan.getScheduleType(), loan.getReferenceIndex() != null,
+                    Math.toIntExact(from.until(firstMonth, ChronoUnit.MONTHS)));
+        }
+        return snapshot;
+    }
+
+    private static double monthlyRate(double annualRate) {
+        return annualRate / PERCENTAGE_DIVISOR / MONTHS_PER_YEAR;
+    }
+
+    private static double annuityPayment(double balance, int n, double rate) {
+        return rate == 0 ? balance / n : balance * rate / (1 - Math.pow(1 + rate, -n));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.lhv.loanmanagement.prepayment;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An early repayment together with a checkpoint of the loan right after it: {@code installmentIndex}
+ * installments were due before the prepayment, and the rest of the schedule is that of a loan of
+ * {@code balanceAfter} over {@code remainingMonths} at the rate in force.
+ */
+@Entity
+@Table(name = "prepayments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Prepayment implements ScheduleSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "loan_id", nullable = false)
+    private UUID loanId;
+
+    @Column(name = "sequence_number", nullable = false)
+    private int sequenceNumber;
+
+    @Column(name = "revision", nullable = false)
+    private int revision;
+
+    @Column(name = "prepayment_date", nullable = false)
+    private LocalDate prepaymentDate;
+
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "prepayment_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PrepaymentType prepaymentType;
+
+    @Column(name = "adjustment", length = 20)
+    @Enumerated(EnumType.STRING)
+    private PrepaymentAdjustment adjustment;
+
+    @Column(name = "installment_index", nullable = false)
+    private int installmentIndex;
+
+    @Column(name = "balance_after", nullable = false, precision = 15, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "remaining_months", nullable = false)
+    private int remainingMonths;
+
+    @Override
+    public Loan remainderOf(Loan loan, Loan previous) {
+        return Loan.builder()
+                .id(loan.getId())
+                .loanType(loan.getLoanType())
+                .amount(balanceAfter)
+                .periodMonths(remainingMonths)
+                .annualInterestRate(previous.getAnnualInterestRate())
+                .scheduleType(loan.getScheduleType())
+                .startDate(ScheduleColumns.paymentDate(loan.getStartDate(), installmentIndex))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.lhv.loanmanagement.prepayment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PrepaymentRepository extends JpaRepository<Prepayment, UUID> {
+
+    List<Prepayment> findByLoanIdOrderBySequenceNumber(UUID loanId);
+
+    List<Prepayment> findByLoanIdIn(Collection<UUID> loanIds);
+}
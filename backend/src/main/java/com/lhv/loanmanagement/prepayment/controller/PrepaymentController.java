@@ -0,0 +1,49 @@
+package com.lhv.loanmanagement.prepayment.controller;
+
+import com.lhv.loanmanagement.prepayment.Prepayment;
+import com.lhv.loanmanagement.prepayment.dto.CreatePrepaymentRequest;
+import com.lhv.loanmanagement.prepayment.dto.PrepaymentResponse;
+import com.lhv.loanmanagement.prepayment.service.PrepaymentService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/loans/{loanId}/prepayments")
+public class PrepaymentController {
+
+    private final PrepaymentService prepaymentService;
+
+    public PrepaymentController(PrepaymentService prepaymentService) {
+        this.prepaymentService = prepaymentService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PrepaymentResponse> createPrepayment(@PathVariable UUID loanId,
+                                                               @Valid @RequestBody CreatePrepaymentRequest request) {
+        log.debug("Received prepayment request for loan id={}: type={}, date={}",
+                loanId, request.getPrepaymentType(), request.getPrepaymentDate());
+        
+        Prepayment saved = prepaymentService.record(loanId, request);
+        PrepaymentResponse response = PrepaymentResponse.from(saved);
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PrepaymentResponse>> getPrepayments(@PathVariable UUID loanId) {
+        log.debug("Received request to get prepayments for loan id={}", loanId);
+        
+        List<PrepaymentResponse> response = prepaymentService.findByLoan(loanId).stream()
+                .map(PrepaymentResponse::from)
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+}
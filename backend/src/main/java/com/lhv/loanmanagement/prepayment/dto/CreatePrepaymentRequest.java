@@ -0,0 +1,35 @@
+package com.lhv.loanmanagement.prepayment.dto;
+
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreatePrepaymentRequest {
+
+    @NotNull(message = "Prepayment date is required")
+    private LocalDate prepaymentDate;
+
+    @NotNull(message = "Prepayment type is required")
+    private PrepaymentType prepaymentType;
+
+    // Required for partial prepayments; a full prepayment repays the outstanding principal
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Amount must have at most 13 integer digits and 2 decimal places")
+    private BigDecimal amount;
+
+    // Required for partial prepayments
+    private PrepaymentAdjustment adjustment;
+}
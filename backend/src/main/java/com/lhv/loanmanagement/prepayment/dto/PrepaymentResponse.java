@@ -0,0 +1,40 @@
+package com.lhv.loanmanagement.prepayment.dto;
+
+import com.lhv.loanmanagement.prepayment.Prepayment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrepaymentResponse {
+
+    private UUID id;
+    private LocalDate prepaymentDate;
+    private BigDecimal amount;
+    private PrepaymentType prepaymentType;
+    private PrepaymentAdjustment adjustment;
+    private BigDecimal remainingBalance;
+    private int remainingMonths;
+
+    public static PrepaymentResponse from(Prepayment prepayment) {
+        return PrepaymentResponse.builder()
+                .id(prepayment.getId())
+                .prepaymentDate(prepayment.getPrepaymentDate())
+                .amount(prepayment.getAmount())
+                .prepaymentType(prepayment.getPrepaymentType())
+                .adjustment(prepayment.getAdjustment())
+                .remainingBalance(prepayment.getBalanceAfter())
+                .remainingMonths(prepayment.getRemainingMonths())
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.lhv.loanmanagement.prepayment.enums;
+
+/**
+ * How the schedule absorbs a partial prepayment: fewer installments of the same size, or the same number of
+ * smaller installments.
+ */
+public enum PrepaymentAdjustment {
+    REDUCE_TERM,
+    REDUCE_PAYMENT
+}
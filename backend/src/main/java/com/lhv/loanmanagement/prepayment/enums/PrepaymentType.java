@@ -0,0 +1,6 @@
+package com.lhv.loanmanagement.prepayment.enums;
+
+public enum PrepaymentType {
+    PARTIAL,
+    FULL
+}
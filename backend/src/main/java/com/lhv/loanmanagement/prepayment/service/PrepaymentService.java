@@ -0,0 +1,125 @@
+package com.lhv.loanmanagement.prepayment.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanChangedEvent;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.loan.exception.LoanNotFoundException;
+import com.lhv.loanmanagement.prepayment.Prepayment;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.prepayment.dto.CreatePrepaymentRequest;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+@Slf4j
+@Service
+public class PrepaymentService {
+
+    private final LoanRepository loanRepository;
+    private final PrepaymentRepository prepaymentRepository;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PrepaymentService(LoanRepository loanRepository, PrepaymentRepository prepaymentRepository,
+                             SegmentedScheduleService segmentedScheduleService,
+                             ApplicationEventPublisher eventPublisher) {
+        this.loanRepository = loanRepository;
+        this.prepaymentRepository = prepaymentRepository;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records a prepayment applied after the installments due on or before its date. Prepayments are appended in
+     * date order; the loan row is locked so concurrent prepayments checkpoint one after the other.
+     */
+    @Transactional
+    public Prepayment record(UUID loanId, CreatePrepaymentRequest request) {
+        Assert.notNull(loanId, "Loan ID cannot be null");
+        Assert.notNull(request, "Prepayment cannot be null");
+        boolean full = request.getPrepaymentType() == PrepaymentType.FULL;
+        Assert.isTrue(full == (request.getAmount() == null), "Amount is required for partial prepayments only");
+        Assert.isTrue(full == (request.getAdjustment() == null), "Adjustment is required for partial prepayments only");
+        
+        Loan loan = loanRepository.findByIdForUpdate(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with id: " + loanId));
+        List<Prepayment> prepayments = prepaymentRepository.findByLoanIdOrderBySequenceNumber(loanId);
+        Prepayment last = prepayments.isEmpty() ? null : prepayments.get(prepayments.size() - 1);
+        Assert.isTrue(last == null || last.getPrepaymentType() != PrepaymentType.FULL,
+                "Loan is already repaid in full");
+        Assert.isTrue(last == null || !request.getPrepaymentDate().isBefore(last.getPrepaymentDate()),
+                "Prepayment cannot be dated before the latest prepayment");
+        
+        int installmentIndex = ScheduleColumns.installmentsDueOnOrBefore(loan.getStartDate(),
+                request.getPrepaymentDate());
+        List<ScheduleSegment> segments = segmentedScheduleService.findSegments(loanId);
+        SegmentedScheduleService.Checkpoint checkpoint =
+                segmentedScheduleService.checkpoint(loan, segments, installmentIndex);
+        
+        long amount = full ? checkpoint.outstandingPrincipal() : ScheduleColumns.toCents(request.getAmount());
+        Assert.isTrue(full || amount < checkpoint.outstandingPrincipal(),
+                "Partial prepayment must be less than the outstanding principal of "
+                        + ScheduleColumns.toAmount(checkpoint.outstandingPrincipal()));
+        long balanceAfter = checkpoint.outstandingPrincipal() - amount;
+        
+        Prepayment prepayment = prepaymentRepository.save(Prepayment.builder()
+                .loanId(loanId)
+                .sequenceNumber(prepayments.size() + 1)
+                .revision(loan.getRevision() + 1)
+                .prepaymentDate(request.getPrepaymentDate())
+                .amount(ScheduleColumns.toAmount(amount))
+                .prepaymentType(request.getPrepaymentType())
+                .adjustment(request.getAdjustment())
+                .installmentIndex(installmentIndex)
+                .balanceAfter(ScheduleColumns.toAmount(balanceAfter))
+                .remainingMonths(full ? 0 : remainingMonths(loan, checkpoint, balanceAfter, request.getAdjustment()))
+                .build());
+        loan.setRevision(loan.getRevision() + 1);
+        eventPublisher.publishEvent(new LoanChangedEvent(loanId));
+        
+        log.info("Recorded {} prepayment of {} for loan id={}, remainingMonths={}", prepayment.getPrepaymentType(),
+                prepayment.getAmount(), loanId, prepayment.getRemainingMonths());
+        return prepayment;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Prepayment> findByLoan(UUID loanId) {
+        Assert.notNull(loanId, "Loan ID cannot be null");
+        if (!loanRepository.existsById(loanId)) {
+            throw new LoanNotFoundException("Loan not found with id: " + loanId);
+        }
+        return prepaymentRepository.findByLoanIdOrderBySequenceNumber(loanId);
+    }
+
+    private static int remainingMonths(Loan loan, SegmentedScheduleService.Checkpoint checkpoint, long balanceAfter,
+                                       PrepaymentAdjustment adjustment) {
+        int remaining = checkpoint.remainingInstallments();
+        if (adjustment == PrepaymentAdjustment.REDUCE_PAYMENT) {
+            return remaining;
+        }
+        
+        double months;
+        if (loan.getScheduleType() == ScheduleType.EQUAL_PRINCIPAL) {
+            months = Math.ceil((double) balanceAfter / checkpoint.regularPrincipal());
+        } else {
+            // Shortest term whose annuity payment does not exceed the current one: n = -ln(1 - B*r/P) / ln(1+r)
+            double monthlyRate = checkpoint.annualInterestRate().doubleValue() / PERCENTAGE_DIVISOR / MONTHS_PER_YEAR;
+            double ratio = balanceAfter * monthlyRate / checkpoint.regularPayment();
+            months = ratio >= 1 ? remaining : Math.ceil(-Math.log1p(-ratio) / Math.log1p(monthlyRate) - 1e-9);
+        }
+        return (int) Math.max(1, Math.min(remaining, months));
+    }
+}
@@ -0,0 +1,40 @@
+package com.lhv.loanmanagement.quote.controller;
+
+import com.lhv.loanmanagement.quote.dto.RateSheetResponse;
+import com.lhv.loanmanagement.quote.service.RateSheetService;
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    private final RateSheetService rateSheetService;
+
+    public QuoteController(RateSheetService rateSheetService) {
+        this.rateSheetService = rateSheetService;
+    }
+
+    @GetMapping("/rate-sheet")
+    public ResponseEntity<RateSheetResponse> getRateSheet(
+            @RequestParam BigDecimal rateFrom,
+            @RequestParam BigDecimal rateTo,
+            @RequestParam List<Integer> terms,
+            @RequestParam List<BigDecimal> amounts) {
+        log.debug("Received request for rate sheet: rateFrom={}, rateTo={}, terms={}, amounts={}",
+                rateFrom, rateTo, terms, amounts);
+        
+        RateSheet sheet = rateSheetService.calculate(rateFrom, rateTo, terms, amounts);
+        
+        return ResponseEntity.ok(RateSheetResponse.from(sheet));
+    }
+}
@@ -0,0 +1,54 @@
+package com.lhv.loanmanagement.quote.dto;
+
+import com.lhv.loanmanagement.schedule.calculator.AprCalculator;
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toAmount;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateSheetResponse {
+
+    private List<BigDecimal> amounts;
+    private List<RateSheetRow> rows;
+
+    public static RateSheetResponse from(RateSheet sheet) {
+        int amountCount = sheet.amounts().size();
+        List<RateSheetRow> rows = new ArrayList<>(sheet.annualInterestRates().size() * sheet.terms().size());
+        for (int rateIndex = 0; rateIndex < sheet.annualInterestRates().size(); rateIndex++) {
+            BigDecimal annualInterestRate = sheet.annualInterestRates().get(rateIndex);
+            BigDecimal annualPercentageRate = AprCalculator.effectiveAnnualRate(annualInterestRate);
+            for (int termIndex = 0; termIndex < sheet.terms().size(); termIndex++) {
+                int first = sheet.cellIndex(rateIndex, termIndex, 0);
+                List<BigDecimal> annuityPayments = new ArrayList<>(amountCount);
+                List<BigDecimal> equalPrincipalPayments = new ArrayList<>(amountCount);
+                for (int cell = first; cell < first + amountCount; cell++) {
+                    annuityPayments.add(toAmount(sheet.annuityPayments()[cell]));
+                    equalPrincipalPayments.add(toAmount(sheet.equalPrincipalPayments()[cell]));
+                }
+                rows.add(RateSheetRow.builder()
+                        .annualInterestRate(annualInterestRate)
+                        .periodMonths(sheet.terms().get(termIndex))
+                        .annualPercentageRate(annualPercentageRate)
+                        .annuityPayments(annuityPayments)
+                        .equalPrincipalPayments(equalPrincipalPayments)
+                        .build());
+            }
+        }
+        
+        return RateSheetResponse.builder()
+                .amounts(sheet.amounts())
+                .rows(rows)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.lhv.loanmanagement.quote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payments for one rate and term, in the order of {@link RateSheetResponse#getAmounts()}. The equal principal
+ * payment is the first and largest installment. The APR is that of the rate before payments are rounded to cents;
+ * a loan's own APR can differ from it by rounding.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateSheetRow {
+
+    private BigDecimal annualInterestRate;
+    private int periodMonths;
+    private BigDecimal annualPercentageRate;
+    private List<BigDecimal> annuityPayments;
+    private List<BigDecimal> equalPrincipalPayments;
+}
@@ -0,0 +1,68 @@
+package com.lhv.loanmanagement.quote.service;
+
+import com.lhv.loanmanagement.schedule.calculator.RateSheetCalculator;
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.RESULT_SCALE;
+
+@Slf4j
+@Service
+public class RateSheetService {
+
+    public static final int MAX_CELLS = 1_000_000;
+    public static final int MAX_TERM_MONTHS = 1200;
+
+    private static final BigDecimal RATE_STEP = BigDecimal.valueOf(1, RESULT_SCALE);
+    private static final BigDecimal MAX_RATE = BigDecimal.valueOf(100);
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999.99");
+
+    private final RateSheetCalculator rateSheetCalculator;
+
+    public RateSheetService(RateSheetCalculator rateSheetCalculator) {
+        this.rateSheetCalculator = rateSheetCalculator;
+    }
+
+    /**
+     * Calculates payments for every rate from {@code rateFrom} to {@code rateTo} in 0.01 steps, every term and
+     * every amount.
+     */
+    public RateSheet calculate(BigDecimal rateFrom, BigDecimal rateTo, List<Integer> terms, List<BigDecimal> amounts) {
+        Assert.notNull(rateFrom, "Rate from cannot be null");
+        Assert.notNull(rateTo, "Rate to cannot be null");
+        Assert.isTrue(rateFrom.compareTo(RATE_STEP) >= 0 && rateTo.compareTo(MAX_RATE) <= 0,
+                "Rates must be between 0.01 and 100");
+        Assert.isTrue(rateFrom.stripTrailingZeros().scale() <= RESULT_SCALE
+                && rateTo.stripTrailingZeros().scale() <= RESULT_SCALE, "Rates must have at most 2 decimal places");
+        Assert.isTrue(rateFrom.compareTo(rateTo) <= 0, "Rate to must not be below rate from");
+        Assert.notEmpty(terms, "At least one term is required");
+        Assert.notEmpty(amounts, "At least one amount is required");
+        for (Integer term : terms) {
+            Assert.isTrue(term != null && term >= 1 && term <= MAX_TERM_MONTHS,
+                    "Terms must be between 1 and " + MAX_TERM_MONTHS + " months");
+        }
+        for (BigDecimal amount : amounts) {
+            Assert.isTrue(amount != null && amount.signum() > 0 && amount.compareTo(MAX_AMOUNT) <= 0,
+                    "Amounts must be between 0.01 and " + MAX_AMOUNT);
+            Assert.isTrue(amount.stripTrailingZeros().scale() <= RESULT_SCALE, "Amounts must have at most 2 decimal places");
+        }
+        
+        int rateCount = rateTo.subtract(rateFrom).divide(RATE_STEP).intValueExact() + 1;
+        long cells = (long) rateCount * terms.size() * amounts.size();
+        Assert.isTrue(cells <= MAX_CELLS, "Rate sheet must have at most " + MAX_CELLS + " cells");
+        
+        List<BigDecimal> rates = new ArrayList<>(rateCount);
+        for (int i = 0; i < rateCount; i++) {
+            rates.add(rateFrom.add(RATE_STEP.multiply(BigDecimal.valueOf(i))).setScale(RESULT_SCALE));
+        }
+        
+        log.debug("Calculating rate sheet with {} rates, {} terms and {} amounts", rateCount, terms.size(), amounts.size());
+        return rateSheetCalculator.calculate(rates, terms, amounts);
+    }
+}
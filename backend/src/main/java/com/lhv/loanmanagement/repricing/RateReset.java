@@ -0,0 +1,68 @@
+package com.lhv.loanmanagement.repricing;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A variable-rate loan repriced to a new reference rate: from installment {@code installmentIndex} on, the
+ * schedule is that of a loan of {@code balanceAfter} over {@code remainingMonths} at {@code annualInterestRate}.
+ */
+@Entity
+@Table(name = "rate_resets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateReset implements ScheduleSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "loan_id", nullable = false)
+    private UUID loanId;
+
+    @Column(name = "revision", nullable = false)
+    private int revision;
+
+    @Column(name = "reference_rate_id", nullable = false)
+    private UUID referenceRateId;
+
+    @Column(name = "reset_date", nullable = false)
+    private LocalDate resetDate;
+
+    @Column(name = "annual_interest_rate", nullable = false, precision = 5, scale = 2)
+    private BigDecimal annualInterestRate;
+
+    @Column(name = "installment_index", nullable = false)
+    private int installmentIndex;
+
+    @Column(name = "balance_after", nullable = false, precision = 15, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "remaining_months", nullable = false)
+    private int remainingMonths;
+
+    @Override
+    public Loan remainderOf(Loan loan, Loan previous) {
+        return Loan.builder()
+                .id(loan.getId())
+                .loanType(loan.getLoanType())
+                .amount(balanceAfter)
+                .periodMonths(remainingMonths)
+                .annualInterestRate(annualInterestRate)
+                .scheduleType(loan.getScheduleType())
+                .startDate(ScheduleColumns.paymentDate(loan.getStartDate(), installmentIndex))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.lhv.loanmanagement.repricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RateResetRepository extends JpaRepository<RateReset, UUID> {
+
+    List<RateReset> findByLoanId(UUID loanId);
+
+    List<RateReset> findByLoanIdIn(Collection<UUID> loanIds);
+}
@@ -0,0 +1,33 @@
+package com.lhv.loanmanagement.repricing;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "reference_rates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReferenceRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "index_name", nullable = false, length = 20)
+    private String indexName;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+
+    @Column(name = "rate", nullable = false, precision = 7, scale = 4)
+    private BigDecimal rate;
+}
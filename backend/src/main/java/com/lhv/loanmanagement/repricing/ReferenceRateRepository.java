@@ -0,0 +1,13 @@
+package com.lhv.loanmanagement.repricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReferenceRateRepository extends JpaRepository<ReferenceRate, UUID> {
+
+    Optional<ReferenceRate> findFirstByIndexNameOrderByEffectiveDateDesc(String indexName);
+}
@@ -0,0 +1,60 @@
+package com.lhv.loanmanagement.repricing;
+
+import com.lhv.loanmanagement.repricing.enums.RepricingJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of repricing the loans of an index to a published rate. Loans are processed in id order and
+ * {@code lastLoanId} is committed together with each chunk, so a restarted job continues after it.
+ */
+@Entity
+@Table(name = "repricing_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "reference_rate_id", nullable = false)
+    private UUID referenceRateId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private RepricingJobStatus status;
+
+    @Column(name = "last_loan_id")
+    private UUID lastLoanId;
+
+    @Column(name = "total_loans", nullable = false)
+    private long totalLoans;
+
+    @Column(name = "processed_loans", nullable = false)
+    private long processedLoans;
+
+    @Column(name = "repriced_loans", nullable = false)
+    private long repricedLoans;
+
+    // Node running the job, or null while no node has claimed it
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.lhv.loanmanagement.repricing;
+
+import com.lhv.loanmanagement.repricing.enums.RepricingJobStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RepricingJobRepository extends JpaRepository<RepricingJob, UUID> {
+
+    List<RepricingJob> findByStatus(RepricingJobStatus status);
+
+    @Query("""
+            select j from RepricingJob j join ReferenceRate r on r.id = j.referenceRateId
+            where r.indexName = :indexName and j.status = :status""")
+    List<RepricingJob> findByIndexNameAndStatus(@Param("indexName") String indexName,
+                                                @Param("status") RepricingJobStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from RepricingJob j where j.id = :id")
+    Optional<RepricingJob> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Makes {@code ownerId} the owner of a running job that is unclaimed or whose owner has not updated it since
+     * {@code staleBefore}. Returns 1 when claimed; of nodes claiming the same job at once, only one succeeds.
+     */
+    @Modifying
+    @Query("""
+            update RepricingJob j set j.ownerId = :ownerId, j.updatedAt = :now
+            where j.id = :id and j.status = :status and (j.ownerId is null or j.updatedAt < :staleBefore)""")
+    int claim(@Param("id") UUID id, @Param("ownerId") UUID ownerId, @Param("status") RepricingJobStatus status,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
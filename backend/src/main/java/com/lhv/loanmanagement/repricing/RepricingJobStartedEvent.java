@@ -0,0 +1,9 @@
+package com.lhv.loanmanagement.repricing;
+
+import java.util.UUID;
+
+/**
+ * Published when a repricing job is created or resumed; the job starts running once the transaction commits.
+ */
+public record RepricingJobStartedEvent(UUID jobId) {
+}
@@ -0,0 +1,52 @@
+package com.lhv.loanmanagement.repricing.controller;
+
+import com.lhv.loanmanagement.repricing.RepricingJob;
+import com.lhv.loanmanagement.repricing.dto.CreateReferenceRateRequest;
+import com.lhv.loanmanagement.repricing.dto.RepricingJobResponse;
+import com.lhv.loanmanagement.repricing.service.RepricingService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class RepricingController {
+
+    private final RepricingService repricingService;
+
+    public RepricingController(RepricingService repricingService) {
+        this.repricingService = repricingService;
+    }
+
+    @PostMapping("/reference-rates")
+    public ResponseEntity<RepricingJobResponse> publishReferenceRate(
+            @Valid @RequestBody CreateReferenceRateRequest request) {
+        log.debug("Received reference rate: index={}, effectiveDate={}, rate={}",
+                request.getIndexName(), request.getEffectiveDate(), request.getRate());
+        
+        RepricingJob job = repricingService.publish(request);
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(RepricingJobResponse.from(job));
+    }
+
+    @GetMapping("/repricing-jobs/{id}")
+    public ResponseEntity<RepricingJobResponse> getRepricingJob(@PathVariable UUID id) {
+        log.debug("Received request to get repricing job with id={}", id);
+        
+        return ResponseEntity.ok(RepricingJobResponse.from(repricingService.findJob(id)));
+    }
+
+    @PostMapping("/repricing-jobs/{id}/resume")
+    public ResponseEntity<RepricingJobResponse> resumeRepricingJob(@PathVariable UUID id) {
+        log.debug("Received request to resume repricing job with id={}", id);
+        
+        RepricingJob job = repricingService.resume(id);
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(RepricingJobResponse.from(job));
+    }
+}
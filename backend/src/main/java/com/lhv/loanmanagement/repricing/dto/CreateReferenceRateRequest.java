@@ -0,0 +1,35 @@
+package com.lhv.loanmanagement.repricing.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateReferenceRateRequest {
+
+    @NotNull(message = "Index name is required")
+    @Pattern(regexp = "[A-Z0-9_]{1,20}",
+            message = "Index name must be 1-20 upper case letters, digits or underscores")
+    private String indexName;
+
+    @NotNull(message = "Effective date is required")
+    private LocalDate effectiveDate;
+
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "-100.0000", message = "Rate must be at least -100")
+    @DecimalMax(value = "100.0000", message = "Rate must be at most 100")
+    @Digits(integer = 3, fraction = 4, message = "Rate must have at most 3 integer digits and 4 decimal places")
+    private BigDecimal rate;
+}
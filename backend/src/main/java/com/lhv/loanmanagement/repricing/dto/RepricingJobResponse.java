@@ -0,0 +1,42 @@
+package com.lhv.loanmanagement.repricing.dto;
+
+import com.lhv.loanmanagement.repricing.RepricingJob;
+import com.lhv.loanmanagement.repricing.enums.RepricingJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingJobResponse {
+
+    private UUID id;
+    private UUID referenceRateId;
+    private RepricingJobStatus status;
+    private long totalLoans;
+    private long processedLoans;
+    private long repricedLoans;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static RepricingJobResponse from(RepricingJob job) {
+        return RepricingJobResponse.builder()
+                .id(job.getId())
+                .referenceRateId(job.getReferenceRateId())
+                .status(job.getStatus())
+                .totalLoans(job.getTotalLoans())
+                .processedLoans(job.getProcessedLoans())
+                .repricedLoans(job.getRepricedLoans())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.lhv.loanmanagement.repricing.enums;
+
+public enum RepricingJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
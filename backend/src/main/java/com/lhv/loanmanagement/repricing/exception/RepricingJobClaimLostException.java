@@ -0,0 +1,8 @@
+package com.lhv.loanmanagement.repricing.exception;
+
+public class RepricingJobClaimLostException extends RuntimeException {
+
+    public RepricingJobClaimLostException(String message) {
+        super(message);
+    }
+}
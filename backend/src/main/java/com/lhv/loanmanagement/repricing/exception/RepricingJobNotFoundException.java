@@ -0,0 +1,8 @@
+package com.lhv.loanmanagement.repricing.exception;
+
+public class RepricingJobNotFoundException extends RuntimeException {
+
+    public RepricingJobNotFoundException(String message) {
+        super(message);
+    }
+}
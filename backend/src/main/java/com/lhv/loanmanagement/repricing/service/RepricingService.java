@@ -0,0 +1,387 @@
+package com.lhv.loanmanagement.repricing.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.LoansChangedEvent;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.repricing.RateReset;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.repricing.ReferenceRate;
+import com.lhv.loanmanagement.repricing.ReferenceRateRepository;
+import com.lhv.loanmanagement.repricing.RepricingJob;
+import com.lhv.loanmanagement.repricing.RepricingJobRepository;
+import com.lhv.loanmanagement.repricing.RepricingJobStartedEvent;
+import com.lhv.loanmanagement.repricing.dto.CreateReferenceRateRequest;
+import com.lhv.loanmanagement.repricing.enums.RepricingJobStatus;
+import com.lhv.loanmanagement.repricing.exception.RepricingJobClaimLostException;
+import com.lhv.loanmanagement.repricing.exception.RepricingJobNotFoundException;
+import com.lhv.loanmanagement.schedule.calculator.ScheduleWorkerThread;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Reprices variable-rate loans when a reference rate is published. A job walks the loans of the index in id
+ * order, in chunks: each chunk is read with one query per table, repriced in parallel, and written in one
+ * transaction with batched inserts together with the job checkpoint, so a restarted job repeats no work.
+ * <p>
+ * Each job is claimed in the database by the node running it, so with several nodes only one runs it. The owner's
+ * chunk writes are its heartbeat: a job whose owner stopped writing for the lease timeout is taken over by another
+ * node, and a node that lost its claim stops at its next chunk without writing it.
+ * <p>
+ * A reset does not recalculate the schedule: like a prepayment, it checkpoints the loan at the reset and the
+ * schedule from then on is that of the remaining balance at the new rate, see {@link SegmentedScheduleService}.
+ */
+@Slf4j
+@Service
+public class RepricingService {
+
+    // Smallest and largest rates the schedule calculators accept
+    private static final BigDecimal MIN_RATE = new BigDecimal("0.01");
+    private static final BigDecimal MAX_RATE = new BigDecimal("100.00");
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReferenceRateRepository referenceRateRepository;
+    private final RepricingJobRepository repricingJobRepository;
+    private final RateResetRepository rateResetRepository;
+    private final LoanRepository loanRepository;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final Duration leaseTimeout;
+    private final UUID ownerId = UUID.randomUUID();
+    private final Set<UUID> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    public RepricingService(ReferenceRateRepository referenceRateRepository,
+                            RepricingJobRepository repricingJobRepository,
+                            RateResetRepository rateResetRepository,
+                            LoanRepository loanRepository,
+                            SegmentedScheduleService segmentedScheduleService,
+                            ApplicationEventPublisher eventPublisher,
+                            TransactionTemplate transactionTemplate,
+                            TaskExecutor taskExecutor,
+                            @Value("${loan-management.repricing.parallelism:0}") int parallelism,
+                            @Value("${loan-management.repricing.chunk-size:1000}") int chunkSize,
+                            @Value("${loan-management.repricing.lease-timeout:PT5M}") Duration leaseTimeout) {
+        Assert.isTrue(parallelism >= 0, "Parallelism cannot be negative");
+        Assert.isTrue(chunkSize > 0, "Chunk size must be positive");
+        Assert.isTrue(leaseTimeout.isPositive(), "Lease timeout must be positive");
+        this.referenceRateRepository = referenceRateRepository;
+        this.repricingJobRepository = repricingJobRepository;
+        this.rateResetRepository = rateResetRepository;
+        this.loanRepository = loanRepository;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+                ScheduleWorkerThread.FACTORY, null, false);
+        this.chunkSize = chunkSize;
+        this.leaseTimeout = leaseTimeout;
+        
+        log.info("Initialized RepricingService with parallelism={}, chunkSize={}, leaseTimeout={}, ownerId={}",
+                pool.getParallelism(), chunkSize, leaseTimeout, ownerId);
+    }
+
+    /**
+     * Stores a new value of a reference index and starts repricing its loans once the value is committed.
+     * Values of an index are published in effective date order, and only once the job of the previous value is
+     * no longer running, so the jobs of an index reprice its loans in effective date order.
+     */
+    @Transactional
+    public RepricingJob publish(CreateReferenceRateRequest request) {
+        Assert.notNull(request, "Reference rate cannot be null");
+        referenceRateRepository.findFirstByIndexNameOrderByEffectiveDateDesc(request.getIndexName())
+                .ifPresent(latest -> Assert.isTrue(request.getEffectiveDate().isAfter(latest.getEffectiveDate()),
+                        "Reference rate must be effective after the latest " + latest.getIndexName()
+                                + " value of " + latest.getEffectiveDate()));
+        assertNoRunningJob(request.getIndexName(), null);
+        
+        ReferenceRate rate = referenceRateRepository.save(ReferenceRate.builder()
+                .indexName(request.getIndexName())
+                .effectiveDate(request.getEffectiveDate())
+                .rate(request.getRate())
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        RepricingJob job = repricingJobRepository.save(RepricingJob.builder()
+                .referenceRateId(rate.getId())
+                .status(RepricingJobStatus.RUNNING)
+                .totalLoans(loanRepository.countByReferenceIndex(rate.getIndexName()))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        eventPublisher.publishEvent(new RepricingJobStartedEvent(job.getId()));
+        
+        log.info("Published {} rate {} effective {}, repricing {} loans in job id={}", rate.getIndexName(),
+                rate.getRate(), rate.getEffectiveDate(), job.getTotalLoans(), job.getId());
+        return job;
+    }
+
+    /**
+     * Restarts a failed job from its checkpoint. A job superseded by a later value of its index is not resumed:
+     * that value's job has already repriced every loan of the index.
+     */
+    @Transactional
+    public RepricingJob resume(UUID jobId) {
+        RepricingJob job = findJob(jobId);
+        Assert.isTrue(job.getStatus() == RepricingJobStatus.FAILED, "Only failed jobs can be resumed");
+        ReferenceRate rate = findRate(job);
+        referenceRateRepository.findFirstByIndexNameOrderByEffectiveDateDesc(rate.getIndexName())
+                .ifPresent(latest -> Assert.isTrue(latest.getId().equals(rate.getId()),
+                        "Job is superseded by the " + latest.getIndexName() + " value of "
+                                + latest.getEffectiveDate()));
+        assertNoRunningJob(rate.getIndexName(), jobId);
+        
+        job.setStatus(RepricingJobStatus.RUNNING);
+        job.setOwnerId(null);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new RepricingJobStartedEvent(jobId));
+        
+        log.info("Resuming repricing job id={} after loan id={}", jobId, job.getLastLoanId());
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public RepricingJob findJob(UUID jobId) {
+        Assert.notNull(jobId, "Job ID cannot be null");
+        return repricingJobRepository.findById(jobId)
+                .orElseThrow(() -> new RepricingJobNotFoundException("Repricing job not found with id: " + jobId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobStarted(RepricingJobStartedEvent event) {
+        start(event.jobId());
+    }
+
+    /**
+     * Running jobs whose owner stopped, e.g. with the node it ran on, continue from their checkpoints on whichever
+     * node claims them first. Checked on startup and then once per lease timeout.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${loan-management.repricing.lease-timeout:PT5M}",
+            fixedDelayString = "${loan-management.repricing.lease-timeout:PT5M}")
+    public void resumeInterruptedJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(leaseTimeout);
+        repricingJobRepository.findByStatus(RepricingJobStatus.RUNNING).stream()
+                .filter(job -> job.getOwnerId() == null || job.getUpdatedAt().isBefore(staleBefore))
+                .forEach(job -> {
+                    log.info("Restarting interrupted repricing job id={} after loan id={}", job.getId(),
+                            job.getLastLoanId());
+                    start(job.getId());
+                });
+    }
+
+    private void start(UUID jobId) {
+        if (runningJobIds.add(jobId)) {
+            taskExecutor.execute(() -> {
+                try {
+                    if (claim(jobId)) {
+                        run(jobId);
+                    } else {
+                        log.debug("Repricing job id={} is claimed by another node", jobId);
+                    }
+                } finally {
+                    runningJobIds.remove(jobId);
+                }
+            });
+        }
+    }
+
+    private boolean claim(UUID jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> repricingJobRepository.claim(jobId, ownerId,
+                RepricingJobStatus.RUNNING, now, now.minus(leaseTimeout)));
+        return claimed != null && claimed == 1;
+    }
+
+    void run(UUID jobId) {
+        RepricingJob job = findJob(jobId);
+        ReferenceRate rate = findRate(job);
+        UUID after = job.getLastLoanId() == null ? FIRST_ID : job.getLastLoanId();
+        
+        try {
+            List<Loan> chunk = loanRepository.findByReferenceIndexAfter(rate.getIndexName(), after,
+                    Limit.of(chunkSize));
+            while (!chunk.isEmpty()) {
+                Map<UUID, List<ScheduleSegment>> segments = segmentedScheduleService.findSegments(
+                        chunk.stream().map(Loan::getId).toList());
+                List<Loan> loans = chunk;
+                List<RateReset> resets = pool.submit(() -> loans.parallelStream()
+                        .map(loan -> reprice(loan, segments.getOrDefault(loan.getId(), List.of()), rate))
+                        .filter(Objects::nonNull)
+                        .toList()).join();
+        
+                after = chunk.get(chunk.size() - 1).getId();
+                RepricingJob progress = writeChunk(jobId, chunk.size(), resets, rate, after);
+                log.info("Repricing job id={}: processed {} of {} loans, repriced {}", jobId,
+                        progress.getProcessedLoans(), progress.getTotalLoans(), progress.getRepricedLoans());
+                chunk = loanRepository.findByReferenceIndexAfter(rate.getIndexName(), after, Limit.of(chunkSize));
+            }
+            updateJob(jobId, RepricingJobStatus.COMPLETED, null);
+            log.info("Repricing job id={} completed", jobId);
+        } catch (RepricingJobClaimLostException e) {
+            // The new owner continues from the last committed checkpoint
+            log.warn("Stopping repricing job id={} after loan id={}: {}", jobId, after, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Repricing job id={} failed after loan id={}", jobId, after, e);
+            updateJob(jobId, RepricingJobStatus.FAILED, Objects.toString(e.getMessage(), e.toString()));
+        }
+    }
+
+    /**
+     * Returns the reset of {@code loan} to {@code rate} plus its margin from the first installment due after the
+     * effective date, or {@code null} when the loan is not affected: it starts after the effective date (and was
+     * priced at the current rate), is already reset to this or a later value, is repaid by then, or its rate does
+     * not change.
+     */
+    RateReset reprice(Loan loan, List<ScheduleSegment> segments, ReferenceRate rate) {
+        if (loan.getStartDate().isAfter(rate.getEffectiveDate()) || segments.stream().anyMatch(segment ->
+                segment instanceof RateReset reset && !reset.getResetDate().isBefore(rate.getEffectiveDate()))) {
+            return null;
+        }
+        
+        Loan current = SegmentedScheduleService.currentSegment(loan, segments);
+        int segmentStart = SegmentedScheduleService.segmentStart(segments);
+        // Installments already restarted by a later event keep their schedule; the new rate applies from there
+        int installmentIndex = Math.max(segmentStart,
+                ScheduleColumns.installmentsDueOnOrBefore(loan.getStartDate(), rate.getEffectiveDate()));
+        BigDecimal annualInterestRate = rate.getRate().add(loan.getMargin())
+                .setScale(RESULT_SCALE, ROUNDING_MODE)
+                .max(MIN_RATE)
+                .min(MAX_RATE);
+        if (installmentIndex - segmentStart >= current.getPeriodMonths()
+                || annualInterestRate.compareTo(current.getAnnualInterestRate()) == 0) {
+            return null;
+        }
+        
+        SegmentedScheduleService.Checkpoint checkpoint =
+                segmentedScheduleService.checkpoint(loan, segments, installmentIndex);
+        return RateReset.builder()
+                .loanId(loan.getId())
+                .revision(loan.getRevision() + 1)
+                .referenceRateId(rate.getId())
+                .resetDate(rate.getEffectiveDate())
+                .annualInterestRate(annualInterestRate)
+                .installmentIndex(installmentIndex)
+                .balanceAfter(ScheduleColumns.toAmount(checkpoint.outstandingPrincipal()))
+                .remainingMonths(checkpoint.remainingInstallments())
+                .build();
+    }
+
+    /**
+     * Stores the resets of a chunk and advances the job checkpoint in one transaction. Loans are locked first;
+     * a loan changed since it was read (e.g. by a prepayment) is repriced again under the lock.
+     */
+    private RepricingJob writeChunk(UUID jobId, int chunkLoans, List<RateReset> resets, ReferenceRate rate,
+                                    UUID lastLoanId) {
+        return transactionTemplate.execute(status -> {
+            // Locked before the loans; a node taking the job over waits for this chunk and sees its heartbeat
+            RepricingJob job = findOwnedJob(jobId);
+            Map<UUID, RateReset> resetsByLoanId = resets.stream()
+                    .collect(Collectors.toMap(RateReset::getLoanId, Function.identity()));
+            List<RateReset> written = new ArrayList<>(resets.size());
+            if (!resetsByLoanId.isEmpty()) {
+                for (Loan loan : loanRepository.findAllByIdForUpdate(resetsByLoanId.keySet())) {
+                    RateReset reset = resetsByLoanId.get(loan.getId());
+                    if (reset.getRevision() != loan.getRevision() + 1) {
+                        reset = reprice(loan, segmentedScheduleService.findSegments(loan.getId()), rate);
+                    }
+                    if (reset != null) {
+                        loan.setRevision(reset.getRevision());
+                        loan.setCurrentInterestRate(reset.getAnnualInterestRate());
+                        written.add(reset);
+                    }
+                }
+                rateResetRepository.saveAll(written);
+                // One event per chunk, so listeners rewrite the chunk's stored schedules in one batch
+                if (!written.isEmpty()) {
+                    eventPublisher.publishEvent(
+                            new LoansChangedEvent(written.stream().map(RateReset::getLoanId).toList()));
+                }
+            }
+        
+            job.setLastLoanId(lastLoanId);
+            job.setProcessedLoans(job.getProcessedLoans() + chunkLoans);
+            job.setRepricedLoans(job.getRepricedLoans() + written.size());
+            job.setUpdatedAt(LocalDateTime.now());
+            return job;
+        });
+    }
+
+    private ReferenceRate findRate(RepricingJob job) {
+        return referenceRateRepository.findById(job.getReferenceRateId())
+                .orElseThrow(() -> new IllegalStateException("Reference rate not found with id: "
+                        + job.getReferenceRateId()));
+    }
+
+    /**
+     * Two jobs of one index running at once could lay an older value over a newer one, so they run one at a time.
+     */
+    private void assertNoRunningJob(String indexName, UUID exceptJobId) {
+        List<UUID> running = repricingJobRepository.findByIndexNameAndStatus(indexName, RepricingJobStatus.RUNNING)
+                .stream()
+                .map(RepricingJob::getId)
+                .filter(id -> !id.equals(exceptJobId))
+                .toList();
+        Assert.isTrue(running.isEmpty(), () -> "Repricing jobs for " + indexName + " are still running: " + running);
+    }
+
+    private RepricingJob findOwnedJob(UUID jobId) {
+        RepricingJob job = repricingJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new RepricingJobNotFoundException("Repricing job not found with id: " + jobId));
+        if (job.getStatus() != RepricingJobStatus.RUNNING || !ownerId.equals(job.getOwnerId())) {
+            throw new RepricingJobClaimLostException("Repricing job id=" + jobId + " was claimed by another node");
+        }
+        return job;
+    }
+
+    private void updateJob(UUID jobId, RepricingJobStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(transaction -> {
+            RepricingJob job = findOwnedJob(jobId);
+            job.setStatus(status);
+            job.setOwnerId(null);
+            job.setErrorMessage(errorMessage == null || errorMessage.length() <= MAX_ERROR_LENGTH
+                    ? errorMessage : errorMessage.substring(0, MAX_ERROR_LENGTH));
+            job.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -16,5 +16,8 @@ public final class FinancialCalculationConstants {
     
     public static final int PERCENTAGE_DIVISOR = 100;
     public static final int MONTHS_PER_YEAR = 12;
+    
+    // Bump on any change that alters calculated schedules; persisted schedules of other versions are recomputed
+    public static final int CALCULATOR_VERSION = 1;
 }
 
@@ -0,0 +1,271 @@
+package com.lhv.loanmanagement.schedule.arithmetic;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Decimal arithmetic on primitive longs that reproduces {@code BigDecimal} operations under
+ * {@link com.lhv.loanmanagement.schedule.FinancialCalculationConstants#MATH_CONTEXT} exactly.
+ * <p>
+ * A value is packed into a single long as {@code mantissa * 10^exponent}: the upper 56 bits hold the
+ * signed mantissa and the lowest 8 bits the signed exponent. Products and aligned sums are computed
+ * exactly in 128 bits and then rounded to {@code MATH_CONTEXT} precision with the same rounding mode,
+ * so results are numerically identical to the {@code BigDecimal} ones.
+ * <p>
+ * Operations that do not fit the representation throw {@link ArithmeticException}; callers are expected
+ * to fall back to {@code BigDecimal} in that case.
+ */
+public final class PackedDecimal {
+
+    private PackedDecimal() {
+        // Utility class
+    }
+
+    private static final int PRECISION = MATH_CONTEXT.getPrecision();
+    private static final int EXPONENT_BITS = 8;
+    private static final long MAX_MANTISSA = 1L << 55;
+    private static final long MAX_ALIGNED_HIGH = 1L << 56;
+    private static final long[] POW10 = new long[19];
+    private static final long[] POW10_HIGH = new long[39];
+    private static final long[] POW10_LOW = new long[39];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+        for (int i = 0; i < POW10_HIGH.length; i++) {
+            BigInteger power = BigInteger.TEN.pow(i);
+            POW10_HIGH[i] = power.shiftRight(64).longValue();
+            POW10_LOW[i] = power.longValue();
+        }
+    }
+
+    public static final long ZERO = 0L;
+
+    public static long pack(long mantissa, int exponent) {
+        if (mantissa >= MAX_MANTISSA || mantissa < -MAX_MANTISSA
+                || exponent < Byte.MIN_VALUE || exponent > Byte.MAX_VALUE) {
+            throw new ArithmeticException("Value out of packed decimal range: " + mantissa + "E" + exponent);
+        }
+        return (mantissa << EXPONENT_BITS) | (exponent & 0xFF);
+    }
+
+    public static long mantissa(long value) {
+        return value >> EXPONENT_BITS;
+    }
+
+    public static int exponent(long value) {
+        return (byte) value;
+    }
+
+    public static long of(BigDecimal value) {
+        BigDecimal candidate = value;
+        if (candidate.unscaledValue().bitLength() >= 56) {
+            candidate = candidate.stripTrailingZeros();
+        }
+        if (candidate.unscaledValue().bitLength() >= 56) {
+            throw new ArithmeticException("Value out of packed decimal range: " + value);
+        }
+        return pack(candidate.unscaledValue().longValue(), -candidate.scale());
+    }
+
+    public static long ofCents(long cents) {
+        return pack(cents, -RESULT_SCALE);
+    }
+
+    public static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(mantissa(value), -exponent(value));
+    }
+
+    /**
+     * Equivalent of {@code value.setScale(RESULT_SCALE, ROUNDING_MODE)} expressed in cents.
+     */
+    public static long toCents(long value) {
+        long mantissa = mantissa(value);
+        int shift = exponent(value) + RESULT_SCALE;
+        if (mantissa == 0) {
+            return 0;
+        }
+        if (shift >= 0) {
+            if (shift >= POW10.length) {
+                throw new ArithmeticException("Value out of cent range: " + toBigDecimal(value));
+            }
+            return Math.multiplyExact(mantissa, POW10[shift]);
+        }
+        int drop = -shift;
+        if (drop >= POW10.length) {
+            return 0;
+        }
+        long magnitude = Math.abs(mantissa);
+        long rounded = roundDiscarding(magnitude / POW10[drop - 1]);
+        return mantissa < 0 ? -rounded : rounded;
+    }
+
+    /**
+     * Equivalent of {@code a.multiply(b, MATH_CONTEXT)}.
+     */
+    public static long multiply(long a, long b) {
+        long ma = mantissa(a);
+        long mb = mantissa(b);
+        if (ma == 0 || mb == 0) {
+            return ZERO;
+        }
+        boolean negative = (ma < 0) != (mb < 0);
+        long x = Math.abs(ma);
+        long y = Math.abs(mb);
+        return round(negative, Math.multiplyHigh(x, y), x * y, exponent(a) + exponent(b));
+    }
+
+    /**
+     * Equivalent of {@code a.subtract(b, MATH_CONTEXT)}.
+     */
+    public static long subtract(long a, long b) {
+        return add(a, negate(b));
+    }
+
+    /**
+     * Equivalent of {@code a.add(b, MATH_CONTEXT)}.
+     */
+    public static long add(long a, long b) {
+        long ma = mantissa(a);
+        long mb = mantissa(b);
+        if (mb == 0) {
+            return round(ma < 0, 0, Math.abs(ma), exponent(a));
+        }
+        if (ma == 0) {
+            return round(mb < 0, 0, Math.abs(mb), exponent(b));
+        }
+        int ea = exponent(a);
+        int eb = exponent(b);
+        int exponent = Math.min(ea, eb);
+
+        // Align both operands to the smaller exponent as signed 128-bit values
+        long aHigh = alignedHigh(Math.abs(ma), ea - exponent);
+        long aLow = Math.abs(ma) * POW10[ea - exponent];
+        long bHigh = alignedHigh(Math.abs(mb), eb - exponent);
+        long bLow = Math.abs(mb) * POW10[eb - exponent];
+        if (ma < 0) {
+            aHigh = ~aHigh + (aLow == 0 ? 1 : 0);
+            aLow = -aLow;
+        }
+        if (mb < 0) {
+            bHigh = ~bHigh + (bLow == 0 ? 1 : 0);
+            bLow = -bLow;
+        }
+
+        long low = aLow + bLow;
+        long high = aHigh + bHigh + (Long.compareUnsigned(low, aLow) < 0 ? 1 : 0);
+        boolean negative = high < 0;
+        if (negative) {
+            high = ~high + (low == 0 ? 1 : 0);
+            low = -low;
+        }
+        return round(negative, high, low, exponent);
+    }
+
+    public static long negate(long value) {
+        return pack(-mantissa(value), exponent(value));
+    }
+
+    public static int signum(long value) {
+        return Long.signum(mantissa(value));
+    }
+
+    private static long alignedHigh(long magnitude, int shift) {
+        if (shift >= POW10.length) {
+            throw new ArithmeticException("Exponent difference out of packed decimal range: " + shift);
+        }
+        long high = Math.multiplyHigh(magnitude, POW10[shift]);
+        if (high >= MAX_ALIGNED_HIGH) {
+            throw new ArithmeticException("Aligned value out of packed decimal range");
+        }
+        return high;
+    }
+
+    /**
+     * Rounds the unsigned 128-bit magnitude {@code high:low * 10^exponent} to {@code MATH_CONTEXT} precision.
+     */
+    private static long round(boolean negative, long high, long low, int exponent) {
+        if (high == 0 && low == 0) {
+            return ZERO;
+        }
+        int digits = digitCount(high, low);
+        if (digits <= PRECISION) {
+            return pack(negative ? -low : low, exponent);
+        }
+        int drop = digits - PRECISION;
+        long rounded = roundDiscarding(divideByPowerOfTen(high, low, drop - 1));
+        return pack(negative ? -rounded : rounded, exponent + drop);
+    }
+
+    /**
+     * Drops the last decimal digit of {@code value} applying {@code ROUNDING_MODE} (half up).
+     */
+    private static long roundDiscarding(long value) {
+        long quotient = value / 10;
+        return value % 10 >= 5 ? quotient + 1 : quotient;
+    }
+
+    private static int digitCount(long high, long low) {
+        int bits = high != 0 ? 128 - Long.numberOfLeadingZeros(high) : 64 - Long.numberOfLeadingZeros(low);
+        int estimate = (bits * 1233) >>> 12;
+        boolean belowEstimate = Long.compareUnsigned(high, POW10_HIGH[estimate]) < 0
+                || (high == POW10_HIGH[estimate] && Long.compareUnsigned(low, POW10_LOW[estimate]) < 0);
+        return belowEstimate ? estimate : estimate + 1;
+    }
+
+    /**
+     * Truncating division of the unsigned 128-bit value by {@code 10^power}; the quotient must fit a long.
+     */
+    private static long divideByPowerOfTen(long high, long low, int power) {
+        if (power < POW10.length) {
+            return high == 0 && low >= 0 ? low / POW10[power] : divideUnsigned(high, low, POW10[power]);
+        }
+        long quotient = divideUnsigned(high, low, POW10[POW10.length - 1]);
+        return quotient / POW10[power - (POW10.length - 1)];
+    }
+
+    /**
+     * Unsigned 128-by-64 bit division (Hacker's Delight, divlu); requires {@code high < divisor}.
+     */
+    private static long divideUnsigned(long high, long low, long divisor) {
+        if (Long.compareUnsigned(high, divisor) >= 0) {
+            throw new ArithmeticException("Quotient out of long range");
+        }
+        final long base = 1L << 32;
+        final long mask = base - 1;
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << shift;
+        long vHigh = v >>> 32;
+        long vLow = v & mask;
+        long u32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+        long u10 = low << shift;
+        long u1 = u10 >>> 32;
+        long u0 = u10 & mask;
+
+        long q1 = Long.divideUnsigned(u32, vHigh);
+        long rHat = u32 - q1 * vHigh;
+        while (Long.compareUnsigned(q1, mask) > 0 || Long.compareUnsigned(q1 * vLow, (rHat << 32) | u1) > 0) {
+            q1--;
+            rHat += vHigh;
+            if (Long.compareUnsigned(rHat, mask) > 0) {
+                break;
+            }
+        }
+
+        long u21 = (u32 << 32) + u1 - q1 * v;
+        long q0 = Long.divideUnsigned(u21, vHigh);
+        rHat = u21 - q0 * vHigh;
+        while (Long.compareUnsigned(q0, mask) > 0 || Long.compareUnsigned(q0 * vLow, (rHat << 32) | u0) > 0) {
+            q0--;
+            rHat += vHigh;
+            if (Long.compareUnsigned(rHat, mask) > 0) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.lhv.loanmanagement.schedule.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class ScheduleCache implements MeterBinder {
+
+    private final Cache<ScheduleKey, ScheduleColumns> cache;
+
+    public ScheduleCache(@Value("${loan-management.schedule.cache.maximum-rows:1000000}") long maximumRows) {
+        // Weighted by rows, so one 600-month mortgage counts as much as fifty 12-month consumer loans
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((ScheduleKey key, ScheduleColumns columns) -> Math.max(1, columns.size()))
+                .recordStats()
+                .build();
+
+        log.info("Initialized schedule cache with maximumRows={}", maximumRows);
+    }
+
+    public ScheduleColumns get(Loan loan, Function<Loan, ScheduleColumns> calculator) {
+        return getAmounts(loan, calculator).withStartDate(loan.getStartDate());
+    }
+
+    /**
+     * Returns the cached schedule without moving its payment dates to the loan start date. Only the amount
+     * columns apply to {@code loan}; row {@code i} falls due {@code i} months after the loan start date.
+     */
+    public ScheduleColumns getAmounts(Loan loan, Function<Loan, ScheduleColumns> calculator) {
+        return cache.get(ScheduleKey.of(loan), key -> calculator.apply(loan));
+    }
+
+    public ScheduleColumns getAmountsIfPresent(Loan loan) {
+        return cache.getIfPresent(ScheduleKey.of(loan));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "schedules");
+    }
+}
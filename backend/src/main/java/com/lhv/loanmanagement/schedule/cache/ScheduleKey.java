@@ -0,0 +1,21 @@
+package com.lhv.loanmanagement.schedule.cache;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+
+import java.math.BigDecimal;
+
+/**
+ * Financial parameters a schedule's amounts depend on. Decimals are normalized so that
+ * e.g. {@code 1000} and {@code 1000.00} map to the same key.
+ */
+public record ScheduleKey(BigDecimal amount, BigDecimal annualInterestRate, int periodMonths, ScheduleType scheduleType) {
+
+    public static ScheduleKey of(Loan loan) {
+        return new ScheduleKey(
+                loan.getAmount().stripTrailingZeros(),
+                loan.getAnnualInterestRate().stripTrailingZeros(),
+                loan.getPeriodMonths(),
+                loan.getScheduleType());
+    }
+}
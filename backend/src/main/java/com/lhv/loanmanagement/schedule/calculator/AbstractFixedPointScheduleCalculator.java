@@ -0,0 +1,72 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.arithmetic.PackedDecimal;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Base class for calculators that run the monthly loop on {@link PackedDecimal} longs instead of
+ * {@code BigDecimal}. Results are identical to the reference calculator, which is also used as a
+ * fallback for loans outside the packed range.
+ */
+@Slf4j
+public abstract class AbstractFixedPointScheduleCalculator<R extends AbstractScheduleCalculator> implements ScheduleCalculator {
+
+    protected final R reference;
+
+    protected AbstractFixedPointScheduleCalculator(R reference) {
+        this.reference = reference;
+    }
+
+    @Override
+    public ScheduleType getScheduleType() {
+        return reference.getScheduleType();
+    }
+
+    @Override
+    public ScheduleColumns calculateColumns(Loan loan) {
+        return calculateColumns(loan, 0, loan.getPeriodMonths());
+    }
+
+    @Override
+    public ScheduleColumns calculateColumns(Loan loan, int offset, int limit) {
+        int end = AbstractScheduleCalculator.windowEnd(loan.getPeriodMonths(), offset, limit);
+        if (loan.getAmount().scale() > RESULT_SCALE || offset >= end) {
+            return reference.calculateColumns(loan, offset, limit);
+        }
+
+        try {
+            return calculateFixedPoint(loan, offset, end);
+        } catch (ArithmeticException e) {
+            log.debug("Falling back to BigDecimal schedule for loan id={}: {}", loan.getId(), e.getMessage());
+            return reference.calculateColumns(loan, offset, limit);
+        }
+    }
+
+    @Override
+    public Optional<ScheduleItem> calculateInstallment(Loan loan, int index) {
+        return reference.calculateInstallment(loan, index);
+    }
+
+    /**
+     * Calculates installments {@code [offset, end)}, where {@code end} is already clipped to the loan period.
+     */
+    protected abstract ScheduleColumns calculateFixedPoint(Loan loan, int offset, int end);
+
+    protected void addLastScheduleRow(ScheduleColumns columns, LocalDate paymentDate, long balance, long monthlyRate,
+                                      long loanAmount, long accumulatedPrincipal) {
+        // Same adjustment as the reference: last principal closes the loan amount exactly
+        long interest = PackedDecimal.toCents(PackedDecimal.multiply(balance, monthlyRate));
+        long principal = loanAmount - accumulatedPrincipal;
+
+        columns.add(paymentDate, principal + interest, principal, interest, 0);
+    }
+}
@@ -3,20 +3,23 @@ package com.lhv.loanmanagement.schedule.calculator;
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.schedule.model.MonthlyPaymentCalculation;
 import com.lhv.loanmanagement.schedule.model.ScheduleAccumulator;
-import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+
+import org.springframework.util.Assert;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Stream;
 
 import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
 
 public abstract class AbstractScheduleCalculator implements ScheduleCalculator {
 
     protected BigDecimal calculateMonthlyRate(BigDecimal annualRate) {
+        return monthlyRate(annualRate);
+    }
+
+    static BigDecimal monthlyRate(BigDecimal annualRate) {
         return annualRate
                 .divide(BigDecimal.valueOf(PERCENTAGE_DIVISOR), MATH_CONTEXT)
                 .divide(BigDecimal.valueOf(MONTHS_PER_YEAR), MATH_CONTEXT);
@@ -26,34 +29,46 @@ public abstract class AbstractScheduleCalculator implements ScheduleCalculator {
         return balance.multiply(monthlyRate, MATH_CONTEXT);
     }
 
-    protected List<ScheduleItem> buildScheduleItems(Loan loan, BigDecimal monthlyRate, Function<BigDecimal, MonthlyPaymentCalculation> calculator, BigDecimal constantPayment) {
+    @Override
+    public ScheduleColumns calculateColumns(Loan loan) {
+        return calculateColumns(loan, 0, loan.getPeriodMonths());
+    }
+
+    protected ScheduleColumns buildSchedule(Loan loan, BigDecimal monthlyRate, Function<BigDecimal, MonthlyPaymentCalculation> calculator, BigDecimal constantPayment,
+                                            int offset, int limit) {
         BigDecimal initialBalance = loan.getAmount().setScale(CALCULATION_SCALE, ROUNDING_MODE);
         BigDecimal loanAmount = loan.getAmount();
         int periodMonths = loan.getPeriodMonths();
-        LocalDate startDate = loan.getStartDate();
+        int end = windowEnd(periodMonths, offset, limit);
+        if (offset >= end) {
+            return new ScheduleColumns(0);
+        }
         
-        return Stream.iterate(startDate, date -> date.plusMonths(1))
-                .limit(periodMonths)
-                .collect(
-                    Collector.of(
-                        () -> new ScheduleAccumulator(initialBalance),
-                        (acc, paymentDate) -> {
-                            boolean isLastPayment = acc.getItems().size() == periodMonths - 1;
-                            MonthlyPaymentCalculation calculation = calculator.apply(acc.getBalance());
-                            
-                            if (isLastPayment) {
-                                calculation = adjustLastPayment(calculation, acc, loanAmount, monthlyRate);
-                            }
-                            
-                            ScheduleItem item = toScheduleItem(paymentDate, calculation, isLastPayment, constantPayment);
-                            acc.addItem(item, calculation.getBalanceAfter());
-                        },
-                        (acc1, acc2) -> {
-                            throw new UnsupportedOperationException("Parallel streams not supported");
-                        },
-                        ScheduleAccumulator::getItems
-                    )
-                );
+        // Rows before the window still advance the balance, but are not stored
+        ScheduleColumns columns = new ScheduleColumns(end - offset, offset);
+        ScheduleAccumulator accumulator = ScheduleWorkerThread.accumulator(initialBalance);
+        LocalDate paymentDate = loan.getStartDate();
+        
+        for (int month = 0; month < end; month++) {
+            boolean isLastPayment = month == periodMonths - 1;
+            MonthlyPaymentCalculation calculation = calculator.apply(accumulator.getBalance());
+            
+            if (isLastPayment) {
+                calculation = adjustLastPayment(calculation, accumulator, loanAmount, monthlyRate);
+            }
+            
+            long roundedPrincipal = addScheduleRow(columns, paymentDate, calculation, isLastPayment, constantPayment);
+            accumulator.advance(roundedPrincipal, calculation.getBalanceAfter());
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        
+        return columns;
+    }
+
+    protected static int windowEnd(int periodMonths, int offset, int limit) {
+        Assert.isTrue(offset >= 0, "Offset cannot be negative");
+        Assert.isTrue(limit >= 0, "Limit cannot be negative");
+        return (int) Math.min((long) offset + limit, periodMonths);
     }
 
     private MonthlyPaymentCalculation adjustLastPayment(
@@ -62,7 +77,7 @@ public abstract class AbstractScheduleCalculator implements ScheduleCalculator {
             BigDecimal loanAmount,
             BigDecimal monthlyRate) {
         
-        BigDecimal remainingPrincipal = loanAmount.subtract(accumulator.getAccumulatedPrincipal());
+        BigDecimal remainingPrincipal = loanAmount.subtract(ScheduleColumns.toAmount(accumulator.getAccumulatedPrincipal()));
         BigDecimal interest = calculateMonthlyInterest(accumulator.getBalance(), monthlyRate);
         
         BigDecimal roundedInterest = interest.setScale(RESULT_SCALE, ROUNDING_MODE);
@@ -76,19 +91,12 @@ public abstract class AbstractScheduleCalculator implements ScheduleCalculator {
         );
     }
 
-    protected ScheduleItem toScheduleItem(LocalDate paymentDate, MonthlyPaymentCalculation calculation, boolean isLastPayment, BigDecimal constantPayment) {
-        BigDecimal roundedPrincipal = calculation.getPrincipal().setScale(RESULT_SCALE, ROUNDING_MODE);
-        BigDecimal roundedInterest = calculation.getInterest().setScale(RESULT_SCALE, ROUNDING_MODE);
-        BigDecimal payment = roundedPrincipal.add(roundedInterest);
-        BigDecimal roundedBalance = calculation.getBalanceAfter().setScale(RESULT_SCALE, ROUNDING_MODE);
+    protected long addScheduleRow(ScheduleColumns columns, LocalDate paymentDate, MonthlyPaymentCalculation calculation, boolean isLastPayment, BigDecimal constantPayment) {
+        long roundedPrincipal = ScheduleColumns.toCents(calculation.getPrincipal());
+        long roundedInterest = ScheduleColumns.toCents(calculation.getInterest());
+        long roundedBalance = ScheduleColumns.toCents(calculation.getBalanceAfter());
         
-        return ScheduleItem.builder()
-                .paymentDate(paymentDate)
-                .payment(payment)
-                .principal(roundedPrincipal)
-                .interest(roundedInterest)
-                .remainingBalance(roundedBalance)
-                .build();
+        columns.add(paymentDate, roundedPrincipal + roundedInterest, roundedPrincipal, roundedInterest, roundedBalance);
+        return roundedPrincipal;
     }
 }
-
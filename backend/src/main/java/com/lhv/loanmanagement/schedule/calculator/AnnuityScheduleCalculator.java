@@ -3,40 +3,178 @@ package com.lhv.loanmanagement.schedule.calculator;
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
 import com.lhv.loanmanagement.schedule.model.MonthlyPaymentCalculation;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
 
 @Component
+@ConditionalOnProperty(name = "loan-management.schedule.engine", havingValue = "big-decimal", matchIfMissing = true)
 public class AnnuityScheduleCalculator extends AbstractScheduleCalculator {
 
+    private static final MathContext DIRECT_CONTEXT = MathContext.DECIMAL128;
+    // Relative error of a few DECIMAL128 operations on the closed-form terms
+    private static final double DIRECT_RELATIVE_ERROR = 1e-32;
+    private static final double MAX_ROUNDING_ERROR = 0.005;
+    private static final double BOUND_MARGIN = 1.01;
+
+    private final CompoundFactorTable compoundFactors;
+
+    public AnnuityScheduleCalculator() {
+        this(new CompoundFactorTable());
+    }
+
+    @Autowired
+    public AnnuityScheduleCalculator(CompoundFactorTable compoundFactors) {
+        this.compoundFactors = compoundFactors;
+    }
+
     @Override
     public ScheduleType getScheduleType() {
         return ScheduleType.ANNUITY;
     }
 
     @Override
-    public List<ScheduleItem> calculate(Loan loan) {
+    public ScheduleColumns calculateColumns(Loan loan, int offset, int limit) {
+        int end = windowEnd(loan.getPeriodMonths(), offset, limit);
+        if (offset > 0 && offset < end) {
+            ScheduleColumns window = calculateDirectly(loan, offset, end);
+            if (window != null) {
+                return window;
+            }
+        }
+        
         BigDecimal monthlyRate = calculateMonthlyRate(loan.getAnnualInterestRate());
-        BigDecimal payment = calculateAnnuityPayment(loan.getAmount(), monthlyRate, loan.getPeriodMonths());
+        BigDecimal payment = calculateAnnuityPayment(loan.getAmount(), loan.getAnnualInterestRate(), loan.getPeriodMonths());
         BigDecimal constantPayment = payment.setScale(RESULT_SCALE, ROUNDING_MODE);
         
         Function<BigDecimal, MonthlyPaymentCalculation> calculator = 
             balance -> calculateMonthlyPayment(balance, monthlyRate, payment);
         
-        return buildScheduleItems(loan, monthlyRate, calculator, constantPayment);
+        return buildSchedule(loan, monthlyRate, calculator, constantPayment, offset, limit);
+    }
+
+    @Override
+    public Optional<ScheduleItem> calculateInstallment(Loan loan, int index) {
+        Objects.checkIndex(index, loan.getPeriodMonths());
+        ScheduleColumns installment = calculateDirectly(loan, index, index + 1);
+        return installment == null ? Optional.empty() : Optional.of(installment.getItem(0));
+    }
+
+    /**
+     * Builds installments {@code [offset, end)} from the closed-form balance before installment k,
+     * {@code amount * (1+r)^k - payment * ((1+r)^k - 1) / r}, without the preceding rows. The monthly loop rounds
+     * interest, principal and balance to {@code MATH_CONTEXT} precision, and an error made in month j grows by
+     * {@code (1+r)} every month after it; that bound is carried along. Returns {@code null} when a cent rounding
+     * could go either way within it, or when the window includes the last installment, which repays the sum of
+     * all rounded principals before it.
+     */
+    ScheduleColumns calculateDirectly(Loan loan, int offset, int end) {
+        int periodMonths = loan.getPeriodMonths();
+        BigDecimal monthlyRate = calculateMonthlyRate(loan.getAnnualInterestRate());
+        if (end >= periodMonths || monthlyRate.signum() <= 0) {
+            return null;
+        }
+        BigDecimal amount = loan.getAmount();
+        BigDecimal payment = calculateAnnuityPayment(amount, loan.getAnnualInterestRate(), periodMonths);
+        BigDecimal constantPayment = payment.setScale(RESULT_SCALE, ROUNDING_MODE);
+        if (constantPayment.precision() > MATH_CONTEXT.getPrecision()) {
+            // Payment minus rounded interest would itself be rounded in the loop
+            return null;
+        }
+        
+        // Balances never exceed the amount, interests the first interest and principals the payment
+        double interestRoundingError = halfUlp(amount.multiply(monthlyRate, MATH_CONTEXT));
+        double monthRoundingError = halfUlp(amount) + halfUlp(payment) + interestRoundingError;
+        double rate = monthlyRate.doubleValue();
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate);
+        BigDecimal factor = growth.pow(offset, DIRECT_CONTEXT);
+        
+        ScheduleColumns columns = new ScheduleColumns(end - offset);
+        LocalDate paymentDate = ScheduleColumns.paymentDate(loan.getStartDate(), offset);
+        long paymentCents = ScheduleColumns.toCents(constantPayment);
+        for (int month = offset; month < end; month++) {
+            BigDecimal nextFactor = factor.multiply(growth, DIRECT_CONTEXT);
+            BigDecimal balance = balanceBefore(amount, payment, monthlyRate, factor);
+            BigDecimal balanceAfter = balanceBefore(amount, payment, monthlyRate, nextFactor);
+            double balanceError = balanceError(amount, payment, rate, factor, monthRoundingError);
+            double balanceAfterError = balanceError(amount, payment, rate, nextFactor, monthRoundingError);
+            
+            long interest = toCentsIfExact(balance.multiply(monthlyRate, DIRECT_CONTEXT),
+                    balanceError * rate + interestRoundingError);
+            long remainingBalance = toCentsIfExact(balanceAfter, balanceAfterError);
+            if (interest == Long.MIN_VALUE || remainingBalance == Long.MIN_VALUE) {
+                return null;
+            }
+            columns.add(paymentDate, paymentCents, paymentCents - interest, interest, remainingBalance);
+            factor = nextFactor;
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        return columns;
     }
 
-    private BigDecimal calculateAnnuityPayment(BigDecimal principal, BigDecimal monthlyRate, int periodMonths) {
+    private static BigDecimal balanceBefore(BigDecimal amount, BigDecimal payment, BigDecimal monthlyRate,
+                                            BigDecimal factor) {
+        BigDecimal annuityFactor = factor.subtract(BigDecimal.ONE).divide(monthlyRate, DIRECT_CONTEXT);
+        return amount.multiply(factor, DIRECT_CONTEXT).subtract(payment.multiply(annuityFactor, DIRECT_CONTEXT),
+                DIRECT_CONTEXT);
+    }
+
+    /**
+     * Bounds the difference between the loop balance and the closed form for {@code factor = (1+r)^k}: the errors
+     * of k months compounded, plus the closed form's own cancellation error.
+     */
+    private static double balanceError(BigDecimal amount, BigDecimal payment, double rate, BigDecimal factor,
+                                       double monthRoundingError) {
+        double compound = factor.doubleValue();
+        double annuityFactor = (compound - 1) / rate;
+        double closedFormError = DIRECT_RELATIVE_ERROR * (amount.doubleValue() * compound
+                + payment.doubleValue() * annuityFactor);
+        // With a margin for the double arithmetic of the bound itself
+        return BOUND_MARGIN * (monthRoundingError * annuityFactor + closedFormError);
+    }
+
+    /**
+     * Rounds {@code value} to cents if every value within {@code error} of it rounds the same, otherwise returns
+     * {@code Long.MIN_VALUE}.
+     */
+    private static long toCentsIfExact(BigDecimal value, double error) {
+        if (!(error < MAX_ROUNDING_ERROR)) {
+            return Long.MIN_VALUE;
+        }
+        BigDecimal margin = new BigDecimal(error);
+        long low = ScheduleColumns.toCents(value.subtract(margin));
+        long high = ScheduleColumns.toCents(value.add(margin));
+        return low == high ? low : Long.MIN_VALUE;
+    }
+
+    /**
+     * Half a unit in the last place of {@code value} rounded to {@code MATH_CONTEXT} precision.
+     */
+    private static double halfUlp(BigDecimal value) {
+        int integerDigits = value.precision() - value.scale();
+        return Math.pow(10, integerDigits - MATH_CONTEXT.getPrecision()) / 2;
+    }
+
+    @Override
+    protected BigDecimal calculateMonthlyRate(BigDecimal annualRate) {
+        return compoundFactors.monthlyRate(annualRate);
+    }
+
+    BigDecimal calculateAnnuityPayment(BigDecimal principal, BigDecimal annualRate, int periodMonths) {
         // Annuity formula: P * r * (1+r)^n / ((1+r)^n - 1)
-        BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyRate, MATH_CONTEXT);
-        BigDecimal compoundFactor = onePlusRate.pow(periodMonths, MATH_CONTEXT);
+        BigDecimal monthlyRate = compoundFactors.monthlyRate(annualRate);
+        BigDecimal compoundFactor = compoundFactors.compoundFactor(annualRate, periodMonths);
         BigDecimal numerator = principal.multiply(monthlyRate, MATH_CONTEXT).multiply(compoundFactor, MATH_CONTEXT);
         BigDecimal denominator = compoundFactor.subtract(BigDecimal.ONE, MATH_CONTEXT);
         
@@ -55,23 +193,17 @@ public class AnnuityScheduleCalculator extends AbstractScheduleCalculator {
     }
 
     @Override
-    protected ScheduleItem toScheduleItem(LocalDate paymentDate, MonthlyPaymentCalculation calculation, boolean isLastPayment, BigDecimal constantPayment) {
+    protected long addScheduleRow(ScheduleColumns columns, LocalDate paymentDate, MonthlyPaymentCalculation calculation, boolean isLastPayment, BigDecimal constantPayment) {
         if (constantPayment != null && !isLastPayment) {
             BigDecimal roundedInterest = calculation.getInterest().setScale(RESULT_SCALE, ROUNDING_MODE);
-            BigDecimal principal = constantPayment.subtract(roundedInterest, MATH_CONTEXT)
-                    .setScale(RESULT_SCALE, ROUNDING_MODE);
-            BigDecimal roundedBalance = calculation.getBalanceAfter().setScale(RESULT_SCALE, ROUNDING_MODE);
+            long principal = ScheduleColumns.toCents(constantPayment.subtract(roundedInterest, MATH_CONTEXT));
+            long roundedBalance = ScheduleColumns.toCents(calculation.getBalanceAfter());
             
-            return ScheduleItem.builder()
-                    .paymentDate(paymentDate)
-                    .payment(constantPayment)
-                    .principal(principal)
-                    .interest(roundedInterest)
-                    .remainingBalance(roundedBalance)
-                    .build();
+            columns.add(paymentDate, ScheduleColumns.toCents(constantPayment), principal,
+                    ScheduleColumns.toCents(roundedInterest), roundedBalance);
+            return principal;
         }
         
-        return super.toScheduleItem(paymentDate, calculation, isLastPayment, constantPayment);
+        return super.addScheduleRow(columns, paymentDate, calculation, isLastPayment, constantPayment);
     }
 }
-
@@ -0,0 +1,141 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Annual percentage rate of a schedule: the effective annual rate {@code (1 + i)^12 - 1} of the monthly internal
+ * rate of return {@code i} that discounts the installments to the loan amount. Installments fall due one month
+ * apart starting one month after the payout, as the calculators accrue interest.
+ * <p>
+ * {@code i} is found with Halley's method on {@code double}s, seeded from the nominal rate. Without fees it
+ * differs from the nominal monthly rate by cent rounding only, so one or two steps converge. The rounded result is
+ * then verified with {@code BigDecimal} throughout, including the monthly rate of each bound: the discounted
+ * installments must bracket the loan amount at the bounds of its rounding interval, otherwise it is moved a step
+ * towards the root.
+ */
+@Component
+public class AprCalculator {
+
+    private static final int MAX_ITERATIONS = 50;
+    private static final int MAX_CORRECTIONS = 10;
+    private static final double TOLERANCE = 1e-15;
+    private static final MathContext VERIFICATION_CONTEXT = MathContext.DECIMAL128;
+    // A double seed is good to about 16 digits; two steps reach the 34 of DECIMAL128, the third is a margin
+    private static final int ROOT_ITERATIONS = 3;
+    private static final BigDecimal STEP = BigDecimal.valueOf(1, RESULT_SCALE);
+    private static final BigDecimal HALF_STEP = BigDecimal.valueOf(5, RESULT_SCALE + 1);
+
+    /**
+     * Returns the APR in percent, rounded to {@code RESULT_SCALE} decimal places, of paying out {@code amount}
+     * against the installments of {@code schedule}.
+     */
+    public BigDecimal calculate(BigDecimal amount, ScheduleColumns schedule, BigDecimal annualInterestRate) {
+        Assert.isTrue(amount != null && amount.signum() > 0, "Amount must be positive");
+        Assert.isTrue(schedule != null && schedule.size() > 0, "Schedule cannot be empty");
+        Assert.notNull(annualInterestRate, "Annual interest rate cannot be null");
+        
+        long amountCents = ScheduleColumns.toCents(amount);
+        double monthlyRate = solve(amountCents, schedule, annualInterestRate.doubleValue() / PERCENTAGE_DIVISOR
+                / MONTHS_PER_YEAR);
+        BigDecimal apr = BigDecimal.valueOf(toAnnualPercent(monthlyRate)).setScale(RESULT_SCALE, ROUNDING_MODE);
+        
+        BigDecimal amountValue = BigDecimal.valueOf(amountCents);
+        for (int correction = 0; correction < MAX_CORRECTIONS; correction++) {
+            // The present value falls as the rate rises; the root must lie in [apr - half step, apr + half step)
+            if (presentValue(schedule, apr.subtract(HALF_STEP)).compareTo(amountValue) < 0) {
+                apr = apr.subtract(STEP);
+            } else if (presentValue(schedule, apr.add(HALF_STEP)).compareTo(amountValue) >= 0) {
+                apr = apr.add(STEP);
+            } else {
+                return apr;
+            }
+        }
+        throw new IllegalStateException("APR could not be verified for amount " + amount + " at rate "
+                + annualInterestRate);
+    }
+
+    /**
+     * APR of a loan whose installments are not rounded to cents, in percent rounded to {@code RESULT_SCALE}
+     * decimal places: the effective annual rate of the nominal rate, whatever the amount, term and schedule type.
+     */
+    public static BigDecimal effectiveAnnualRate(BigDecimal annualInterestRate) {
+        double monthlyRate = annualInterestRate.doubleValue() / PERCENTAGE_DIVISOR / MONTHS_PER_YEAR;
+        return BigDecimal.valueOf(toAnnualPercent(monthlyRate)).setScale(RESULT_SCALE, ROUNDING_MODE);
+    }
+
+    /**
+     * Monthly rate at which the installments discount to {@code amountCents}. Each step evaluates the present value
+     * and its first two derivatives in a single pass over the installments.
+     */
+    static double solve(long amountCents, ScheduleColumns schedule, double seed) {
+        double rate = seed;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double discount = 1 / (1 + rate);
+            double factor = 1;
+            double value = 0;
+            double firstMoment = 0;
+            double secondMoment = 0;
+            for (int index = 0; index < schedule.size(); index++) {
+                factor *= discount;
+                double discounted = schedule.getPayment(index) * factor;
+                int period = index + 1;
+                value += discounted;
+                firstMoment += period * discounted;
+                secondMoment += (double) period * (period + 1) * discounted;
+            }
+            double f = value - amountCents;
+            double derivative = -firstMoment * discount;
+            double secondDerivative = secondMoment * discount * discount;
+            double step = 2 * f * derivative / (2 * derivative * derivative - f * secondDerivative);
+            if (!Double.isFinite(step)) {
+                break;
+            }
+            rate -= step;
+            if (Math.abs(step) < TOLERANCE) {
+                break;
+            }
+        }
+        Assert.state(Double.isFinite(rate) && rate > -1, "APR solver diverged");
+        return rate;
+    }
+
+    private static double toAnnualPercent(double monthlyRate) {
+        return (Math.pow(1 + monthlyRate, MONTHS_PER_YEAR) - 1) * PERCENTAGE_DIVISOR;
+    }
+
+    /**
+     * Installments of {@code schedule} in cents discounted at the monthly rate equivalent to {@code annualPercent}.
+     */
+    private static BigDecimal presentValue(ScheduleColumns schedule, BigDecimal annualPercent) {
+        BigDecimal discount = monthlyDiscount(annualPercent);
+        // Horner's scheme from the last installment: v * (p1 + v * (p2 + ... + v * pn))
+        BigDecimal value = BigDecimal.ZERO;
+        for (int index = schedule.size() - 1; index >= 0; index--) {
+            value = value.add(BigDecimal.valueOf(schedule.getPayment(index))).multiply(discount, VERIFICATION_CONTEXT);
+        }
+        return value;
+    }
+
+    /**
+     * Monthly discount factor {@code (1 + annualPercent / 100)^(-1/12)}. The twelfth root is seeded from
+     * {@code double}s and refined with Newton's method, each step doubling the correct digits.
+     */
+    static BigDecimal monthlyDiscount(BigDecimal annualPercent) {
+        BigDecimal growth = BigDecimal.ONE.add(annualPercent.movePointLeft(2));
+        BigDecimal months = BigDecimal.valueOf(MONTHS_PER_YEAR);
+        BigDecimal root = BigDecimal.valueOf(Math.pow(growth.doubleValue(), 1.0 / MONTHS_PER_YEAR));
+        for (int iteration = 0; iteration < ROOT_ITERATIONS; iteration++) {
+            BigDecimal power = root.pow(MONTHS_PER_YEAR - 1, VERIFICATION_CONTEXT);
+            BigDecimal residual = root.multiply(power, VERIFICATION_CONTEXT).subtract(growth, VERIFICATION_CONTEXT);
+            root = root.subtract(residual.divide(months.multiply(power), VERIFICATION_CONTEXT), VERIFICATION_CONTEXT);
+        }
+        return BigDecimal.ONE.divide(root, VERIFICATION_CONTEXT);
+    }
+}
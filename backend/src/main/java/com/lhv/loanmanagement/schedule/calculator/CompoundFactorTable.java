@@ -0,0 +1,119 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Monthly rates and {@code (1+r)^n} compound factors indexed by annual rate in basis points and term.
+ * <p>
+ * Annual rates are {@code NUMERIC(5,2)} between 0 and 100, so every stored rate is one of 10 001 basis point
+ * values. Entries are computed on first use with the same {@code BigDecimal} operations as an uncached
+ * calculation, so a lookup returns exactly the value the calculator would have computed. Concurrent first uses
+ * may compute an entry twice, which is harmless as the results are equal. Rates with more than two decimals
+ * and terms above {@code maxTerm} are computed without caching.
+ */
+@Slf4j
+@Component
+public class CompoundFactorTable {
+
+    static final int MAX_BASIS_POINTS = 100 * PERCENTAGE_DIVISOR;
+
+    private final int maxTerm;
+    private final AtomicReferenceArray<RateRow> rows = new AtomicReferenceArray<>(MAX_BASIS_POINTS + 1);
+
+    public CompoundFactorTable() {
+        this(600, List.of(), List.of());
+    }
+
+    @Autowired
+    public CompoundFactorTable(
+            @Value("${loan-management.schedule.compound-factors.max-term:600}") int maxTerm,
+            @Value("${loan-management.schedule.compound-factors.warm-up-rates:}") List<BigDecimal> warmUpRates,
+            @Value("${loan-management.schedule.compound-factors.warm-up-terms:}") List<Integer> warmUpTerms) {
+        Assert.isTrue(maxTerm > 0, "Maximum term must be positive");
+        this.maxTerm = maxTerm;
+
+        for (BigDecimal annualRate : warmUpRates) {
+            Assert.isTrue(basisPoints(annualRate) >= 0, "Warm-up rate must be between 0 and 100 with at most 2 decimals");
+            for (int term : warmUpTerms) {
+                Assert.isTrue(term > 0 && term <= maxTerm, "Warm-up term must be between 1 and the maximum term");
+                compoundFactor(annualRate, term);
+            }
+        }
+        log.info("Compound factor table warmed up for {} rates and {} terms", warmUpRates.size(), warmUpTerms.size());
+    }
+
+    public BigDecimal monthlyRate(BigDecimal annualRate) {
+        int basisPoints = basisPoints(annualRate);
+        if (basisPoints < 0) {
+            return AbstractScheduleCalculator.monthlyRate(annualRate);
+        }
+        return row(basisPoints).monthlyRate;
+    }
+
+    /**
+     * Returns {@code (1 + monthlyRate(annualRate))^periodMonths}.
+     */
+    public BigDecimal compoundFactor(BigDecimal annualRate, int periodMonths) {
+        int basisPoints = basisPoints(annualRate);
+        if (basisPoints < 0) {
+            return pow(AbstractScheduleCalculator.monthlyRate(annualRate), periodMonths);
+        }
+        RateRow row = row(basisPoints);
+        if (periodMonths < 1 || periodMonths > maxTerm) {
+            return pow(row.monthlyRate, periodMonths);
+        }
+
+        BigDecimal factor = row.factors.get(periodMonths);
+        if (factor == null) {
+            factor = pow(row.monthlyRate, periodMonths);
+            row.factors.set(periodMonths, factor);
+        }
+        return factor;
+    }
+
+    static BigDecimal pow(BigDecimal monthlyRate, int periodMonths) {
+        return BigDecimal.ONE.add(monthlyRate, MATH_CONTEXT).pow(periodMonths, MATH_CONTEXT);
+    }
+
+    private RateRow row(int basisPoints) {
+        RateRow row = rows.get(basisPoints);
+        if (row == null) {
+            BigDecimal annualRate = BigDecimal.valueOf(basisPoints, RESULT_SCALE);
+            rows.compareAndSet(basisPoints, null, new RateRow(AbstractScheduleCalculator.monthlyRate(annualRate), maxTerm));
+            row = rows.get(basisPoints);
+        }
+        return row;
+    }
+
+    /**
+     * Returns the rate in basis points, or -1 when it is not a table rate.
+     */
+    private static int basisPoints(BigDecimal annualRate) {
+        if (annualRate.signum() < 0 || annualRate.compareTo(BigDecimal.valueOf(100)) > 0) {
+            return -1;
+        }
+        BigDecimal basisPoints = annualRate.movePointRight(RESULT_SCALE);
+        return basisPoints.stripTrailingZeros().scale() > 0 ? -1 : basisPoints.intValue();
+    }
+
+    private static final class RateRow {
+
+        private final BigDecimal monthlyRate;
+        private final AtomicReferenceArray<BigDecimal> factors;
+
+        private RateRow(BigDecimal monthlyRate, int maxTerm) {
+            this.monthlyRate = monthlyRate;
+            this.factors = new AtomicReferenceArray<>(maxTerm + 1);
+        }
+    }
+}
@@ -3,35 +3,87 @@ package com.lhv.loanmanagement.schedule.calculator;
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
 import com.lhv.loanmanagement.schedule.model.MonthlyPaymentCalculation;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
 
 @Component
+@ConditionalOnProperty(name = "loan-management.schedule.engine", havingValue = "big-decimal", matchIfMissing = true)
 public class EqualPrincipalScheduleCalculator extends AbstractScheduleCalculator {
 
+    // Whole-cent balances below this have at most MATH_CONTEXT precision digits, so subtracting is exact
+    private static final BigDecimal EXACT_BALANCE_LIMIT = BigDecimal.TEN.pow(MATH_CONTEXT.getPrecision() - RESULT_SCALE);
+
     @Override
     public ScheduleType getScheduleType() {
         return ScheduleType.EQUAL_PRINCIPAL;
     }
 
     @Override
-    public List<ScheduleItem> calculate(Loan loan) {
+    public ScheduleColumns calculateColumns(Loan loan, int offset, int limit) {
+        int end = windowEnd(loan.getPeriodMonths(), offset, limit);
+        if (offset > 0 && offset < end && hasExactBalances(loan.getAmount())) {
+            return calculateDirectly(loan, offset, end);
+        }
+        
         BigDecimal monthlyRate = calculateMonthlyRate(loan.getAnnualInterestRate());
         BigDecimal fixedPrincipal = calculateFixedPrincipal(loan.getAmount(), loan.getPeriodMonths());
         
         Function<BigDecimal, MonthlyPaymentCalculation> calculator = 
             balance -> calculateMonthlyPayment(balance, monthlyRate, fixedPrincipal);
         
-        return buildScheduleItems(loan, monthlyRate, calculator, null);
+        return buildSchedule(loan, monthlyRate, calculator, null, offset, limit);
+    }
+
+    @Override
+    public Optional<ScheduleItem> calculateInstallment(Loan loan, int index) {
+        if (!hasExactBalances(loan.getAmount())) {
+            return Optional.empty();
+        }
+        Objects.checkIndex(index, loan.getPeriodMonths());
+        return Optional.of(calculateDirectly(loan, index, index + 1).getItem(0));
+    }
+
+    boolean hasExactBalances(BigDecimal amount) {
+        return amount.abs().compareTo(EXACT_BALANCE_LIMIT) < 0 && amount.stripTrailingZeros().scale() <= RESULT_SCALE;
+    }
+
+    /**
+     * Builds installments {@code [offset, end)} without the preceding ones. No rounding happens in the balance
+     * loop for {@link #hasExactBalances exact} amounts, so the balance before installment k is
+     * {@code amount - k * fixedPrincipal}.
+     */
+    private ScheduleColumns calculateDirectly(Loan loan, int offset, int end) {
+        int periodMonths = loan.getPeriodMonths();
+        BigDecimal monthlyRate = calculateMonthlyRate(loan.getAnnualInterestRate());
+        long fixedPrincipal = ScheduleColumns.toCents(calculateFixedPrincipal(loan.getAmount(), periodMonths));
+        long loanAmount = ScheduleColumns.toCents(loan.getAmount());
+        
+        ScheduleColumns columns = new ScheduleColumns(end - offset);
+        LocalDate paymentDate = ScheduleColumns.paymentDate(loan.getStartDate(), offset);
+        for (int month = offset; month < end; month++) {
+            long balanceBefore = loanAmount - month * fixedPrincipal;
+            long interest = ScheduleColumns.toCents(
+                    calculateMonthlyInterest(ScheduleColumns.toAmount(balanceBefore), monthlyRate));
+            // The last installment repays whatever the rounded principals before it left over
+            long principal = month == periodMonths - 1 ? balanceBefore : fixedPrincipal;
+            
+            columns.add(paymentDate, principal + interest, principal, interest, balanceBefore - principal);
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        return columns;
     }
 
-    private BigDecimal calculateFixedPrincipal(BigDecimal principal, int periodMonths) {
+    BigDecimal calculateFixedPrincipal(BigDecimal principal, int periodMonths) {
         return principal
                 .divide(BigDecimal.valueOf(periodMonths), MATH_CONTEXT)
                 .setScale(RESULT_SCALE, ROUNDING_MODE);
@@ -0,0 +1,76 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.arithmetic.PackedDecimal;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Component
+@ConditionalOnProperty(name = "loan-management.schedule.engine", havingValue = "fixed-point")
+public class FixedPointAnnuityScheduleCalculator extends AbstractFixedPointScheduleCalculator<AnnuityScheduleCalculator> {
+
+    public FixedPointAnnuityScheduleCalculator() {
+        this(new CompoundFactorTable());
+    }
+
+    @Autowired
+    public FixedPointAnnuityScheduleCalculator(CompoundFactorTable compoundFactors) {
+        super(new AnnuityScheduleCalculator(compoundFactors));
+    }
+
+    @Override
+    public ScheduleColumns calculateColumns(Loan loan, int offset, int limit) {
+        // The reference jumps straight to the window start when the closed form rounds unambiguously
+        int end = AbstractScheduleCalculator.windowEnd(loan.getPeriodMonths(), offset, limit);
+        if (offset > 0 && offset < end) {
+            ScheduleColumns window = reference.calculateDirectly(loan, offset, end);
+            if (window != null) {
+                return window;
+            }
+        }
+        return super.calculateColumns(loan, offset, limit);
+    }
+
+    @Override
+    protected ScheduleColumns calculateFixedPoint(Loan loan, int offset, int end) {
+        BigDecimal monthlyRate = reference.calculateMonthlyRate(loan.getAnnualInterestRate());
+        BigDecimal payment = reference.calculateAnnuityPayment(loan.getAmount(), loan.getAnnualInterestRate(), loan.getPeriodMonths());
+        int periodMonths = loan.getPeriodMonths();
+
+        long rate = PackedDecimal.of(monthlyRate);
+        long exactPayment = PackedDecimal.of(payment);
+        long constantPayment = ScheduleColumns.toCents(payment);
+        long packedConstantPayment = PackedDecimal.ofCents(constantPayment);
+        long loanAmount = ScheduleColumns.toCents(loan.getAmount());
+
+        ScheduleColumns columns = new ScheduleColumns(end - offset, offset);
+        long balance = PackedDecimal.of(loan.getAmount());
+        long accumulatedPrincipal = 0;
+        LocalDate paymentDate = loan.getStartDate();
+
+        for (int month = 0; month < Math.min(end, periodMonths - 1); month++) {
+            long interest = PackedDecimal.multiply(balance, rate);
+            long principal = PackedDecimal.subtract(exactPayment, interest);
+            balance = PackedDecimal.subtract(balance, principal);
+
+            long roundedInterest = PackedDecimal.toCents(interest);
+            long roundedPrincipal = PackedDecimal.toCents(
+                    PackedDecimal.subtract(packedConstantPayment, PackedDecimal.ofCents(roundedInterest)));
+
+            columns.add(paymentDate, constantPayment, roundedPrincipal, roundedInterest,
+                    PackedDecimal.toCents(balance));
+            accumulatedPrincipal += roundedPrincipal;
+            paymentDate = paymentDate.plusMonths(1);
+        }
+
+        if (end == periodMonths) {
+            addLastScheduleRow(columns, paymentDate, balance, rate, loanAmount, accumulatedPrincipal);
+        }
+        return columns;
+    }
+}
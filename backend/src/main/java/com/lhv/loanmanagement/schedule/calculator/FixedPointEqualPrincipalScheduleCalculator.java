@@ -0,0 +1,59 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.arithmetic.PackedDecimal;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Component
+@ConditionalOnProperty(name = "loan-management.schedule.engine", havingValue = "fixed-point")
+public class FixedPointEqualPrincipalScheduleCalculator extends AbstractFixedPointScheduleCalculator<EqualPrincipalScheduleCalculator> {
+
+    public FixedPointEqualPrincipalScheduleCalculator() {
+        super(new EqualPrincipalScheduleCalculator());
+    }
+
+    @Override
+    public ScheduleColumns calculateColumns(Loan loan, int offset, int limit) {
+        // The reference jumps straight to the window start when balances are exact
+        if (offset > 0 && reference.hasExactBalances(loan.getAmount())) {
+            return reference.calculateColumns(loan, offset, limit);
+        }
+        return super.calculateColumns(loan, offset, limit);
+    }
+
+    @Override
+    protected ScheduleColumns calculateFixedPoint(Loan loan, int offset, int end) {
+        BigDecimal monthlyRate = reference.calculateMonthlyRate(loan.getAnnualInterestRate());
+        int periodMonths = loan.getPeriodMonths();
+
+        long rate = PackedDecimal.of(monthlyRate);
+        long fixedPrincipal = ScheduleColumns.toCents(reference.calculateFixedPrincipal(loan.getAmount(), periodMonths));
+        long packedFixedPrincipal = PackedDecimal.ofCents(fixedPrincipal);
+        long loanAmount = ScheduleColumns.toCents(loan.getAmount());
+
+        ScheduleColumns columns = new ScheduleColumns(end - offset, offset);
+        long balance = PackedDecimal.of(loan.getAmount());
+        long accumulatedPrincipal = 0;
+        LocalDate paymentDate = loan.getStartDate();
+
+        for (int month = 0; month < Math.min(end, periodMonths - 1); month++) {
+            long interest = PackedDecimal.toCents(PackedDecimal.multiply(balance, rate));
+            balance = PackedDecimal.subtract(balance, packedFixedPrincipal);
+
+            columns.add(paymentDate, fixedPrincipal + interest, fixedPrincipal, interest,
+                    PackedDecimal.toCents(balance));
+            accumulatedPrincipal += fixedPrincipal;
+            paymentDate = paymentDate.plusMonths(1);
+        }
+
+        if (end == periodMonths) {
+            addLastScheduleRow(columns, paymentDate, balance, rate, loanAmount, accumulatedPrincipal);
+        }
+        return columns;
+    }
+}
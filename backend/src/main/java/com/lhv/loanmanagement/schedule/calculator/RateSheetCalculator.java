@@ -0,0 +1,109 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Payments for a grid of loans, equal to those of the schedule calculators: the constant annuity payment and the
+ * first equal principal installment.
+ * <p>
+ * Each payment is an amount times a factor that only depends on rate and term. The factor is derived once per
+ * rate and term with {@code BigDecimal}; the per-amount products are estimated in {@code double} in flat loops the
+ * JIT vectorizes. The reference calculation rounds to {@code MATH_CONTEXT} precision a few times on the way, so an
+ * estimate is only within a small relative error of it. Estimates whose cent rounding could go either way within
+ * that error are recalculated with the calculators' own {@code BigDecimal} methods, so every cell matches.
+ */
+@Component
+public class RateSheetCalculator {
+
+    // Bounds the relative difference between an estimate and the reference: three roundings to MATH_CONTEXT
+    // precision (5e-12 each) plus double rounding
+    private static final double RELATIVE_TOLERANCE = 2e-11;
+    private static final double ABSOLUTE_TOLERANCE = 1e-6;
+    private static final MathContext FACTOR_CONTEXT = MathContext.DECIMAL128;
+
+    private final CompoundFactorTable compoundFactors;
+    private final AnnuityScheduleCalculator annuityCalculator;
+    private final EqualPrincipalScheduleCalculator equalPrincipalCalculator;
+
+    public RateSheetCalculator(CompoundFactorTable compoundFactors) {
+        this.compoundFactors = compoundFactors;
+        this.annuityCalculator = new AnnuityScheduleCalculator(compoundFactors);
+        this.equalPrincipalCalculator = new EqualPrincipalScheduleCalculator();
+    }
+
+    public RateSheet calculate(List<BigDecimal> annualInterestRates, List<Integer> terms, List<BigDecimal> amounts) {
+        int amountCount = amounts.size();
+        long[] annuityPayments = new long[annualInterestRates.size() * terms.size() * amountCount];
+        long[] equalPrincipalPayments = new long[annuityPayments.length];
+        
+        double[] amountCents = new double[amountCount];
+        for (int i = 0; i < amountCount; i++) {
+            amountCents[i] = ScheduleColumns.toCents(amounts.get(i));
+        }
+        double[] estimates = new double[amountCount];
+        long[] interests = new long[amountCount];
+        
+        int cell = 0;
+        for (BigDecimal annualRate : annualInterestRates) {
+            BigDecimal monthlyRate = compoundFactors.monthlyRate(annualRate);
+            
+            // The first equal principal interest is amount * monthlyRate whatever the term
+            multiply(amountCents, monthlyRate.doubleValue(), estimates);
+            for (int i = 0; i < amountCount; i++) {
+                interests[i] = isNearHalfCent(estimates[i])
+                        ? ScheduleColumns.toCents(equalPrincipalCalculator.calculateMonthlyInterest(amounts.get(i), monthlyRate))
+                        : roundHalfUp(estimates[i]);
+            }
+            
+            for (int periodMonths : terms) {
+                BigDecimal compoundFactor = compoundFactors.compoundFactor(annualRate, periodMonths);
+                BigDecimal annuityFactor = monthlyRate.multiply(compoundFactor)
+                        .divide(compoundFactor.subtract(BigDecimal.ONE), FACTOR_CONTEXT);
+                
+                multiply(amountCents, annuityFactor.doubleValue(), estimates);
+                for (int i = 0; i < amountCount; i++) {
+                    annuityPayments[cell + i] = isNearHalfCent(estimates[i])
+                            ? ScheduleColumns.toCents(annuityCalculator.calculateAnnuityPayment(amounts.get(i), annualRate, periodMonths))
+                            : roundHalfUp(estimates[i]);
+                }
+                
+                // A single installment repays the whole amount; otherwise each repays amount / term
+                multiply(amountCents, 1.0 / periodMonths, estimates);
+                for (int i = 0; i < amountCount; i++) {
+                    long principal = periodMonths == 1 ? (long) amountCents[i]
+                            : isNearHalfCent(estimates[i])
+                            ? ScheduleColumns.toCents(equalPrincipalCalculator.calculateFixedPrincipal(amounts.get(i), periodMonths))
+                            : roundHalfUp(estimates[i]);
+                    equalPrincipalPayments[cell + i] = principal + interests[i];
+                }
+                cell += amountCount;
+            }
+        }
+        
+        return new RateSheet(List.copyOf(annualInterestRates), List.copyOf(terms), List.copyOf(amounts),
+                annuityPayments, equalPrincipalPayments);
+    }
+
+    private static void multiply(double[] values, double factor, double[] result) {
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] * factor;
+        }
+    }
+
+    private static boolean isNearHalfCent(double cents) {
+        double fraction = cents - Math.floor(cents);
+        return Math.abs(fraction - 0.5) <= cents * RELATIVE_TOLERANCE + ABSOLUTE_TOLERANCE;
+    }
+
+    private static long roundHalfUp(double cents) {
+        return (long) Math.floor(cents + 0.5);
+    }
+}
@@ -2,13 +2,32 @@ package com.lhv.loanmanagement.schedule.calculator;
 
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ScheduleCalculator {
-    List<ScheduleItem> calculate(Loan loan);
+    ScheduleColumns calculateColumns(Loan loan);
+
+    /**
+     * Calculates only installments {@code [offset, offset + limit)}, clipped to the loan period. Row 0 of the
+     * result is installment {@code offset}; the calculation stops after the last requested installment.
+     */
+    ScheduleColumns calculateColumns(Loan loan, int offset, int limit);
+
+    default List<ScheduleItem> calculate(Loan loan) {
+        return calculateColumns(loan).asItems();
+    }
+
+    /**
+     * Calculates the installment at zero-based {@code index} without building the preceding rows, or
+     * returns empty when the calculator cannot do so exactly for this loan.
+     */
+    default Optional<ScheduleItem> calculateInstallment(Loan loan, int index) {
+        return Optional.empty();
+    }
     
     ScheduleType getScheduleType();
 }
-
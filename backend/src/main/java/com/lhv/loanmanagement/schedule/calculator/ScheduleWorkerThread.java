@@ -0,0 +1,34 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.schedule.model.ScheduleAccumulator;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Fork-join worker that carries scratch state for schedule calculations, so calculators running on it reuse
+ * one {@link ScheduleAccumulator} instead of allocating one per loan. A calculation never forks or joins, so
+ * the scratch state is never shared by two calculations in progress.
+ */
+public class ScheduleWorkerThread extends ForkJoinWorkerThread {
+
+    public static final ForkJoinPool.ForkJoinWorkerThreadFactory FACTORY = ScheduleWorkerThread::new;
+
+    private final ScheduleAccumulator accumulator = new ScheduleAccumulator(BigDecimal.ZERO);
+
+    protected ScheduleWorkerThread(ForkJoinPool pool) {
+        super(pool);
+    }
+
+    /**
+     * Returns the accumulator of the current worker reset to {@code balance}, or a new one on other threads.
+     */
+    static ScheduleAccumulator accumulator(BigDecimal balance) {
+        if (Thread.currentThread() instanceof ScheduleWorkerThread worker) {
+            worker.accumulator.reset(balance);
+            return worker.accumulator;
+        }
+        return new ScheduleAccumulator(balance);
+    }
+}
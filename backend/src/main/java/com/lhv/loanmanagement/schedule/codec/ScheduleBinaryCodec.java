@@ -0,0 +1,203 @@
+package com.lhv.loanmanagement.schedule.codec;
+
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Compact binary form of {@link ScheduleColumns}, served as {@code application/octet-stream} and decodable
+ * without any dependency besides this class and {@code ScheduleColumns}.
+ * <p>
+ * Layout, where varints are unsigned LEB128 and signed values are zigzag encoded:
+ * <pre>
+ * byte    format version
+ * varint  row count
+ * byte    date mode: 0 = monthly, each date is the previous one plus one month; 1 = explicit
+ * signed  epoch day of the first payment date
+ * per row:
+ *   signed  (explicit date mode only) epoch day delta from the previous row
+ *   signed  principal delta from the previous row, in cents
+ *   signed  interest delta from the previous row, in cents
+ *   signed  payment - (principal + interest)
+ *   signed  remaining balance - (previous remaining balance - principal), the first row against zero
+ * </pre>
+ * The last two fields are zero for every row our calculators produce, so a row takes a few bytes against
+ * roughly a hundred in JSON.
+ */
+public final class ScheduleBinaryCodec {
+
+    private ScheduleBinaryCodec() {
+        // Utility class
+    }
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MONTHLY_DATES = 0;
+    private static final int EXPLICIT_DATES = 1;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int HEADER_BYTES = 2 + 3 * MAX_VARINT_BYTES;
+
+    public static byte[] encode(ScheduleColumns schedule) {
+        int size = schedule.size();
+        boolean monthly = hasMonthlyDates(schedule);
+        int rowBytes = (monthly ? 4 : 5) * MAX_VARINT_BYTES;
+        Writer writer = new Writer(new byte[HEADER_BYTES + size * rowBytes]);
+        
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeVarint(size);
+        writer.writeByte(monthly ? MONTHLY_DATES : EXPLICIT_DATES);
+        long previousDate = size == 0 ? 0 : schedule.getPaymentDate(0).toEpochDay();
+        writer.writeSigned(previousDate);
+        
+        long previousPrincipal = 0;
+        long previousInterest = 0;
+        long previousBalance = 0;
+        for (int index = 0; index < size; index++) {
+            long principal = schedule.getPrincipal(index);
+            long interest = schedule.getInterest(index);
+            long balance = schedule.getRemainingBalance(index);
+            if (!monthly) {
+                long date = schedule.getPaymentDate(index).toEpochDay();
+                writer.writeSigned(date - previousDate);
+                previousDate = date;
+            }
+            writer.writeSigned(principal - previousPrincipal);
+            writer.writeSigned(interest - previousInterest);
+            writer.writeSigned(schedule.getPayment(index) - (principal + interest));
+            writer.writeSigned(balance - (previousBalance - principal));
+            previousPrincipal = principal;
+            previousInterest = interest;
+            previousBalance = balance;
+        }
+        return writer.toByteArray();
+    }
+
+    public static ScheduleColumns decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported schedule format version: " + version);
+        }
+        long size = reader.readVarint();
+        // Every row takes at least four bytes, which also bounds the allocation for corrupt input
+        if (size > bytes.length / 4) {
+            throw new IllegalArgumentException("Invalid schedule row count: " + size);
+        }
+        int dateMode = reader.readByte();
+        if (dateMode != MONTHLY_DATES && dateMode != EXPLICIT_DATES) {
+            throw new IllegalArgumentException("Invalid schedule date mode: " + dateMode);
+        }
+        
+        ScheduleColumns schedule = new ScheduleColumns((int) size);
+        long epochDay = reader.readSigned();
+        LocalDate paymentDate = toDate(epochDay);
+        long principal = 0;
+        long interest = 0;
+        long balance = 0;
+        for (int index = 0; index < size; index++) {
+            if (dateMode == EXPLICIT_DATES) {
+                epochDay += reader.readSigned();
+                paymentDate = toDate(epochDay);
+            } else if (index > 0) {
+                paymentDate = toDate(paymentDate.plusMonths(1).toEpochDay());
+            }
+            principal += reader.readSigned();
+            interest += reader.readSigned();
+            long payment = principal + interest + reader.readSigned();
+            balance = balance - principal + reader.readSigned();
+            schedule.add(paymentDate, payment, principal, interest, balance);
+        }
+        if (reader.remaining() > 0) {
+            throw new IllegalArgumentException("Unexpected bytes after schedule: " + reader.remaining());
+        }
+        return schedule;
+    }
+
+    private static LocalDate toDate(long epochDay) {
+        try {
+            // ScheduleColumns keeps epoch days as ints
+            return LocalDate.ofEpochDay(Math.toIntExact(epochDay));
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid schedule date: epoch day " + epochDay, e);
+        }
+    }
+
+    private static boolean hasMonthlyDates(ScheduleColumns schedule) {
+        for (int index = 1; index < schedule.size(); index++) {
+            if (!schedule.getPaymentDate(index).equals(schedule.getPaymentDate(index - 1).plusMonths(1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Writer {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private void writeByte(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeSigned(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated schedule data");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readSigned() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int next = readByte();
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in schedule data");
+        }
+
+        private int remaining() {
+            return buffer.length - position;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lhv.loanmanagement.schedule.controller;
+
+import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import com.lhv.loanmanagement.loan.dto.ScheduleResponse;
+import com.lhv.loanmanagement.schedule.service.ScheduleQuoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/schedules")
+public class ScheduleQuoteController {
+
+    private final ScheduleQuoteService scheduleQuoteService;
+
+    public ScheduleQuoteController(ScheduleQuoteService scheduleQuoteService) {
+        this.scheduleQuoteService = scheduleQuoteService;
+    }
+
+    @PostMapping("/calculate")
+    public ResponseEntity<List<ScheduleResponse>> calculateSchedules(@RequestBody List<CreateLoanRequest> requests) {
+        log.debug("Received request to calculate schedules for {} loans", requests.size());
+        
+        List<ScheduleResponse> response = scheduleQuoteService.calculateAll(requests).stream()
+                .map(quote -> ScheduleResponse.builder()
+                        .items(quote.schedule().asItems())
+                        .annualPercentageRate(quote.annualPercentageRate())
+                        .build())
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+}
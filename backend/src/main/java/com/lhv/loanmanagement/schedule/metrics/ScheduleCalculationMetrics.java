@@ -0,0 +1,76 @@
+package com.lhv.loanmanagement.schedule.metrics;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and result size of schedule calculations, tagged by schedule type and loan term bucket so that slow
+ * loan shapes stand out. Cache hits are not recorded; see the {@code cache.*} metrics of the schedule cache.
+ */
+@Component
+public class ScheduleCalculationMetrics {
+
+    // Upper bounds (inclusive) of the term buckets in months; longer terms fall into a last open bucket
+    private static final int[] TERM_BOUNDS = {12, 60, 120, 240, 360};
+
+    private final Map<ScheduleType, Meters[]> meters = new EnumMap<>(ScheduleType.class);
+
+    public ScheduleCalculationMetrics(MeterRegistry registry) {
+        for (ScheduleType scheduleType : ScheduleType.values()) {
+            Meters[] byTerm = new Meters[TERM_BOUNDS.length + 1];
+            for (int bucket = 0; bucket < byTerm.length; bucket++) {
+                String term = termTag(bucket);
+                byTerm[bucket] = new Meters(
+                        Timer.builder("loan.schedule.calculation")
+                                .description("Time to calculate a repayment schedule")
+                                .tag("scheduleType", scheduleType.name())
+                                .tag("term", term)
+                                .publishPercentileHistogram()
+                                .register(registry),
+                        DistributionSummary.builder("loan.schedule.rows")
+                                .description("Installments per calculated repayment schedule")
+                                .tag("scheduleType", scheduleType.name())
+                                .tag("term", term)
+                                .publishPercentileHistogram()
+                                .register(registry));
+            }
+            meters.put(scheduleType, byTerm);
+        }
+    }
+
+    public ScheduleColumns record(Loan loan, Supplier<ScheduleColumns> calculation) {
+        long start = System.nanoTime();
+        ScheduleColumns schedule = calculation.get();
+
+        Meters loanMeters = meters.get(loan.getScheduleType())[termBucket(loan.getPeriodMonths())];
+        loanMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        loanMeters.rows().record(schedule.size());
+        return schedule;
+    }
+
+    static int termBucket(int periodMonths) {
+        int bucket = 0;
+        while (bucket < TERM_BOUNDS.length && periodMonths > TERM_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static String termTag(int bucket) {
+        int lower = bucket == 0 ? 0 : TERM_BOUNDS[bucket - 1] + 1;
+        return bucket == TERM_BOUNDS.length ? lower + "+" : lower + "-" + TERM_BOUNDS[bucket];
+    }
+
+    private record Meters(Timer timer, DistributionSummary rows) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.lhv.loanmanagement.schedule.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Monthly payments in cents for every combination of annual rate, term and amount. Cells are stored rate-major,
+ * then by term, then by amount.
+ */
+public record RateSheet(List<BigDecimal> annualInterestRates, List<Integer> terms, List<BigDecimal> amounts,
+                        long[] annuityPayments, long[] equalPrincipalPayments) {
+
+    public int cellIndex(int rateIndex, int termIndex, int amountIndex) {
+        return (rateIndex * terms.size() + termIndex) * amounts.size() + amountIndex;
+    }
+}
@@ -3,26 +3,25 @@ package com.lhv.loanmanagement.schedule.model;
 import lombok.Getter;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 @Getter
 public class ScheduleAccumulator {
     private BigDecimal balance;
-    private BigDecimal accumulatedPrincipal;
-    private final List<ScheduleItem> items;
+    private long accumulatedPrincipal;
     
     public ScheduleAccumulator(BigDecimal balance) {
         this.balance = balance;
-        this.accumulatedPrincipal = BigDecimal.ZERO;
-        this.items = new ArrayList<>();
+        this.accumulatedPrincipal = 0;
     }
     
-    public void addItem(ScheduleItem item, BigDecimal newBalance) {
-        this.items.add(item);
+    public void reset(BigDecimal balance) {
+        this.balance = balance;
+        this.accumulatedPrincipal = 0;
+    }
+    
+    public void advance(long roundedPrincipal, BigDecimal newBalance) {
         this.balance = newBalance;
-        // Track sum of rounded principals for exact totals (industry standard)
-        this.accumulatedPrincipal = this.accumulatedPrincipal.add(item.getPrincipal());
+        // Track sum of rounded principals (in cents) for exact totals (industry standard)
+        this.accumulatedPrincipal += roundedPrincipal;
     }
 }
-
@@ -0,0 +1,196 @@
+package com.lhv.loanmanagement.schedule.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+
+/**
+ * Column-oriented schedule: payment dates as epoch days and amounts in cents, stored in presized
+ * parallel arrays. {@link ScheduleItem}s are only created on access, see {@link #asItems()}.
+ */
+public class ScheduleColumns {
+
+    private final int[] paymentDates;
+    private final long[] payments;
+    private final long[] principals;
+    private final long[] interests;
+    private final long[] remainingBalances;
+    private int size;
+    private int rowsToSkip;
+
+    public ScheduleColumns(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates columns for a window of a schedule: the first {@code rowsToSkip} rows added are dropped, so a
+     * calculator can run its loop from the first month and only the window is stored.
+     */
+    public ScheduleColumns(int capacity, int rowsToSkip) {
+        this(new int[capacity], new long[capacity], new long[capacity], new long[capacity], new long[capacity], 0);
+        this.rowsToSkip = rowsToSkip;
+    }
+
+    private ScheduleColumns(int[] paymentDates, long[] payments, long[] principals, long[] interests,
+                            long[] remainingBalances, int size) {
+        this.paymentDates = paymentDates;
+        this.payments = payments;
+        this.principals = principals;
+        this.interests = interests;
+        this.remainingBalances = remainingBalances;
+        this.size = size;
+    }
+
+    public void add(LocalDate paymentDate, long payment, long principal, long interest, long remainingBalance) {
+        if (rowsToSkip > 0) {
+            rowsToSkip--;
+            return;
+        }
+        paymentDates[size] = Math.toIntExact(paymentDate.toEpochDay());
+        payments[size] = payment;
+        principals[size] = principal;
+        interests[size] = interest;
+        remainingBalances[size] = remainingBalance;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDate getPaymentDate(int index) {
+        return LocalDate.ofEpochDay(paymentDates[checkIndex(index)]);
+    }
+
+    public long getPayment(int index) {
+        return payments[checkIndex(index)];
+    }
+
+    public long getPrincipal(int index) {
+        return principals[checkIndex(index)];
+    }
+
+    public long getInterest(int index) {
+        return interests[checkIndex(index)];
+    }
+
+    public long getRemainingBalance(int index) {
+        return remainingBalances[checkIndex(index)];
+    }
+
+    public ScheduleItem getItem(int index) {
+        return getItem(index, getPaymentDate(index));
+    }
+
+    /**
+     * Returns the row at {@code index} with the given payment date, for amounts shared between loans with
+     * different start dates.
+     */
+    public ScheduleItem getItem(int index, LocalDate paymentDate) {
+        checkIndex(index);
+        return ScheduleItem.builder()
+                .paymentDate(paymentDate)
+                .payment(toAmount(payments[index]))
+                .principal(toAmount(principals[index]))
+                .interest(toAmount(interests[index]))
+                .remainingBalance(toAmount(remainingBalances[index]))
+                .build();
+    }
+
+    /**
+     * Returns a schedule with the same amounts and payment dates moved to start at {@code startDate}.
+     * Amount columns are shared, so a complete schedule can be served to many loans.
+     */
+    public ScheduleColumns withStartDate(LocalDate startDate) {
+        if (size == 0 || paymentDates[0] == startDate.toEpochDay()) {
+            return this;
+        }
+
+        int[] rebasedDates = new int[size];
+        LocalDate paymentDate = startDate;
+        for (int index = 0; index < size; index++) {
+            rebasedDates[index] = Math.toIntExact(paymentDate.toEpochDay());
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        return new ScheduleColumns(rebasedDates, payments, principals, interests, remainingBalances, size);
+    }
+
+    /**
+     * Copies rows {@code [from, to)} into new columns, with payment dates starting at {@code firstPaymentDate}
+     * and advancing one month per row.
+     */
+    public ScheduleColumns slice(int from, int to, LocalDate firstPaymentDate) {
+        Objects.checkFromToIndex(from, to, size);
+        ScheduleColumns slice = new ScheduleColumns(to - from);
+        LocalDate paymentDate = firstPaymentDate;
+        for (int index = from; index < to; index++) {
+            slice.add(paymentDate, payments[index], principals[index], interests[index], remainingBalances[index]);
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        return slice;
+    }
+
+    public List<ScheduleItem> asItems() {
+        return new ItemView();
+    }
+
+    /**
+     * Date of installment {@code index}: {@code startDate.plusMonths(1)} applied {@code index} times. Each step
+     * clamps the day to the month length, so the day is the smallest of the start day and the lengths of all
+     * months passed. Any 24 consecutive months contain a 28-day February, so at most 23 months are inspected.
+     */
+    public static LocalDate paymentDate(LocalDate startDate, int index) {
+        YearMonth startMonth = YearMonth.from(startDate);
+        int day = startDate.getDayOfMonth();
+        if (index >= 2 * MONTHS_PER_YEAR) {
+            day = Math.min(day, 28);
+        }
+        for (int month = 1; month <= index && day > 28; month++) {
+            day = Math.min(day, startMonth.plusMonths(month).lengthOfMonth());
+        }
+        return startMonth.plusMonths(index).atDay(day);
+    }
+
+    /**
+     * Number of installments falling due on or before {@code date}.
+     */
+    public static int installmentsDueOnOrBefore(LocalDate startDate, LocalDate date) {
+        int index = (int) Math.max(0, ChronoUnit.MONTHS.between(startDate, date) - 1);
+        while (!paymentDate(startDate, index).isAfter(date)) {
+            index++;
+        }
+        return index;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(RESULT_SCALE, ROUNDING_MODE).movePointRight(RESULT_SCALE).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, RESULT_SCALE);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private class ItemView extends AbstractList<ScheduleItem> implements RandomAccess {
+
+        @Override
+        public ScheduleItem get(int index) {
+            return getItem(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
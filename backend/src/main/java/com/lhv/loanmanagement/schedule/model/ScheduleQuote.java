@@ -0,0 +1,9 @@
+package com.lhv.loanmanagement.schedule.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Schedule of a quoted loan together with its APR, both calculated by the same pooled task.
+ */
+public record ScheduleQuote(ScheduleColumns schedule, BigDecimal annualPercentageRate) {
+}
@@ -0,0 +1,70 @@
+package com.lhv.loanmanagement.schedule.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.cache.ScheduleKey;
+import com.lhv.loanmanagement.schedule.calculator.AprCalculator;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+
+/**
+ * APRs of loans as contracted, memoized per {@link ScheduleKey}: loans and quotes of the same product share one
+ * result, so listing rows costs a cache lookup.
+ * <p>
+ * This is the contract APR disclosed when the loan is taken out. It is calculated from the contracted amount, term
+ * and {@code annualInterestRate} only, so prepayments and rate resets leave it unchanged; the schedule in force after
+ * them is served by {@link SegmentedScheduleService} and the rate in force is the loan's current interest rate.
+ */
+@Slf4j
+@Service
+public class AprService implements MeterBinder {
+
+    private final AprCalculator aprCalculator;
+    private final RepaymentScheduleService repaymentScheduleService;
+    private final Cache<ScheduleKey, BigDecimal> cache;
+
+    public AprService(AprCalculator aprCalculator, RepaymentScheduleService repaymentScheduleService,
+                      @Value("${loan-management.apr.cache.maximum-size:100000}") long maximumSize) {
+        this.aprCalculator = aprCalculator;
+        this.repaymentScheduleService = repaymentScheduleService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        
+        log.info("Initialized APR cache with maximumSize={}", maximumSize);
+    }
+
+    /**
+     * Returns the contract APR of {@code loan}, calculating its contracted schedule amounts through the schedule
+     * cache on a miss.
+     */
+    public BigDecimal calculate(Loan loan) {
+        Assert.notNull(loan, "Loan cannot be null");
+        return cache.get(ScheduleKey.of(loan), key -> aprCalculator.calculate(loan.getAmount(),
+                repaymentScheduleService.calculateScheduleAmounts(loan), loan.getAnnualInterestRate()));
+    }
+
+    /**
+     * Returns the APR of {@code loan} from its already calculated {@code schedule}, e.g. an uncached quote.
+     */
+    public BigDecimal calculate(Loan loan, ScheduleColumns schedule) {
+        Assert.notNull(loan, "Loan cannot be null");
+        return cache.get(ScheduleKey.of(loan), key -> aprCalculator.calculate(loan.getAmount(), schedule,
+                loan.getAnnualInterestRate()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "aprs");
+    }
+}
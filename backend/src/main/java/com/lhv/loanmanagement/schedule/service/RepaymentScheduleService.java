@@ -2,7 +2,10 @@ package com.lhv.loanmanagement.schedule.service;
 
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
 import com.lhv.loanmanagement.schedule.calculator.ScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,6 +13,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -17,32 +21,113 @@ import java.util.stream.Collectors;
 public class RepaymentScheduleService {
 
     private final Map<ScheduleType, ScheduleCalculator> calculators;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleCalculationMetrics metrics;
 
-    public RepaymentScheduleService(List<ScheduleCalculator> calculatorList) {
+    public RepaymentScheduleService(List<ScheduleCalculator> calculatorList, ScheduleCache scheduleCache,
+                                    ScheduleCalculationMetrics metrics) {
         Assert.notEmpty(calculatorList, "At least one schedule calculator must be provided");
+        Assert.notNull(scheduleCache, "Schedule cache cannot be null");
+        Assert.notNull(metrics, "Schedule calculation metrics cannot be null");
         this.calculators = calculatorList.stream()
                 .collect(Collectors.toMap(ScheduleCalculator::getScheduleType, calculator -> calculator));
+        this.scheduleCache = scheduleCache;
+        this.metrics = metrics;
         
         log.info("Initialized RepaymentScheduleService with {} calculators", calculators.size());
     }
 
     public List<ScheduleItem> calculateSchedule(Loan loan) {
+        return calculateScheduleColumns(loan).asItems();
+    }
+
+    public List<ScheduleItem> calculateSchedule(Loan loan, int offset, int limit) {
+        return calculateScheduleColumns(loan, offset, limit).asItems();
+    }
+
+    public ScheduleColumns calculateScheduleColumns(Loan loan) {
         Assert.notNull(loan, "Loan cannot be null");
-        Assert.notNull(loan.getScheduleType(), "Loan schedule type cannot be null");
         
         log.debug("Calculating schedule for loan id={}, scheduleType={}", 
                 loan.getId(), loan.getScheduleType());
         
+        ScheduleColumns schedule = scheduleCache.get(loan, calculation(getCalculator(loan)));
+        log.debug("Calculated schedule with {} items for loan id={}", schedule.size(), loan.getId());
+        
+        return schedule;
+    }
+
+    /**
+     * Returns installments {@code [offset, offset + limit)} only. A cached schedule is sliced, otherwise the
+     * calculator stops after the window; partial schedules are not cached.
+     */
+    public ScheduleColumns calculateScheduleColumns(Loan loan, int offset, int limit) {
+        Assert.notNull(loan, "Loan cannot be null");
+        Assert.isTrue(offset >= 0, "Offset cannot be negative");
+        Assert.isTrue(limit >= 1, "Limit must be at least 1");
+        
+        log.debug("Calculating schedule window for loan id={}, offset={}, limit={}", loan.getId(), offset, limit);
+        
+        ScheduleCalculator calculator = getCalculator(loan);
+        ScheduleColumns cached = scheduleCache.getAmountsIfPresent(loan);
+        if (cached == null) {
+            return metrics.record(loan, () -> calculator.calculateColumns(loan, offset, limit));
+        }
+        
+        int from = Math.min(offset, cached.size());
+        int to = (int) Math.min((long) offset + limit, cached.size());
+        return cached.slice(from, to, ScheduleColumns.paymentDate(loan.getStartDate(), from));
+    }
+
+    /**
+     * Calculates the schedule of a loan that is not stored, bypassing the cache so hypothetical loans do not
+     * evict the schedules of real ones.
+     */
+    public ScheduleColumns calculateUncachedScheduleColumns(Loan loan) {
+        Assert.notNull(loan, "Loan cannot be null");
+        ScheduleCalculator calculator = getCalculator(loan);
+        return metrics.record(loan, () -> calculator.calculateColumns(loan));
+    }
+
+    /**
+     * Bulk variant of {@link #calculateScheduleColumns(Loan)} for callers that only need amounts: payment
+     * dates are left as cached, row {@code i} falls due {@code i} months after the loan start date.
+     */
+    public ScheduleColumns calculateScheduleAmounts(Loan loan) {
+        Assert.notNull(loan, "Loan cannot be null");
+        return scheduleCache.getAmounts(loan, calculation(getCalculator(loan)));
+    }
+
+    /**
+     * Returns installment {@code installmentNumber} (1-based) without building the schedule when the calculator
+     * supports it, otherwise from the cached schedule amounts.
+     */
+    public ScheduleItem calculateInstallment(Loan loan, int installmentNumber) {
+        Assert.notNull(loan, "Loan cannot be null");
+        Assert.isTrue(installmentNumber >= 1 && installmentNumber <= loan.getPeriodMonths(),
+                "Installment number must be between 1 and " + loan.getPeriodMonths());
+        
+        log.debug("Calculating installment {} for loan id={}", installmentNumber, loan.getId());
+        
+        int index = installmentNumber - 1;
+        return getCalculator(loan).calculateInstallment(loan, index)
+                .orElseGet(() -> calculateScheduleAmounts(loan)
+                        .getItem(index, ScheduleColumns.paymentDate(loan.getStartDate(), index)));
+    }
+
+    private Function<Loan, ScheduleColumns> calculation(ScheduleCalculator calculator) {
+        return loan -> metrics.record(loan, () -> calculator.calculateColumns(loan));
+    }
+
+    private ScheduleCalculator getCalculator(Loan loan) {
+        Assert.notNull(loan.getScheduleType(), "Loan schedule type cannot be null");
+        
         ScheduleCalculator calculator = calculators.get(loan.getScheduleType());
         if (calculator == null) {
             log.error("Unsupported schedule type: {}", loan.getScheduleType());
             throw new IllegalArgumentException("Unsupported schedule type: " + loan.getScheduleType());
         }
-        
-        List<ScheduleItem> schedule = calculator.calculate(loan);
-        log.debug("Calculated schedule with {} items for loan id={}", schedule.size(), loan.getId());
-        
-        return schedule;
+        return calculator;
     }
 
     public List<ScheduleItem> calculateAnnuitySchedule(Loan loan) {
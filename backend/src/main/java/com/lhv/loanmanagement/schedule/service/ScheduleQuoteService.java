@@ -0,0 +1,94 @@
+package com.lhv.loanmanagement.schedule.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import com.lhv.loanmanagement.schedule.calculator.ScheduleWorkerThread;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleQuote;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Schedules for loans that are never stored, e.g. price quotes. Calculations run on a dedicated bounded pool of
+ * {@link ScheduleWorkerThread}s so a large quote request cannot starve request threads or the common pool.
+ */
+@Slf4j
+@Service
+public class ScheduleQuoteService {
+
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    private final RepaymentScheduleService repaymentScheduleService;
+    private final AprService aprService;
+    private final Validator validator;
+    private final ForkJoinPool pool;
+
+    public ScheduleQuoteService(RepaymentScheduleService repaymentScheduleService, AprService aprService,
+                                Validator validator, @Value("${loan-management.quotes.parallelism:0}") int parallelism) {
+        Assert.isTrue(parallelism >= 0, "Parallelism cannot be negative");
+        this.repaymentScheduleService = repaymentScheduleService;
+        this.aprService = aprService;
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+                ScheduleWorkerThread.FACTORY, null, false);
+        
+        log.info("Initialized ScheduleQuoteService with parallelism={}", pool.getParallelism());
+    }
+
+    /**
+     * Returns the schedules and APRs of {@code requests} in request order. The whole batch is rejected if any loan
+     * is invalid.
+     */
+    public List<ScheduleQuote> calculateAll(List<CreateLoanRequest> requests) {
+        Assert.notEmpty(requests, "Batch must contain at least one loan");
+        Assert.isTrue(requests.size() <= MAX_BATCH_SIZE, "Batch must contain at most " + MAX_BATCH_SIZE + " loans");
+        
+        log.debug("Calculating schedules for {} quoted loans", requests.size());
+        Loan[] loans = new Loan[requests.size()];
+        for (int index = 0; index < loans.length; index++) {
+            validate(index, requests.get(index));
+            loans[index] = requests.get(index).toEntity();
+        }
+        
+        // A parallel stream started by a task runs on the pool of that task
+        return pool.submit(() -> IntStream.range(0, loans.length)
+                        .parallel()
+                        .mapToObj(index -> quote(loans[index]))
+                        .toList())
+                .join();
+    }
+
+    private ScheduleQuote quote(Loan loan) {
+        ScheduleColumns schedule = repaymentScheduleService.calculateUncachedScheduleColumns(loan);
+        return new ScheduleQuote(schedule, aprService.calculate(loan, schedule));
+    }
+
+    private void validate(int index, CreateLoanRequest request) {
+        Assert.notNull(request, "Loan at index " + index + " cannot be null");
+        Set<ConstraintViolation<CreateLoanRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String errors = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("Loan at index " + index + " is invalid: " + errors);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,179 @@
+package com.lhv.loanmanagement.schedule.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Schedules of loans with servicing events (prepayments and rate resets). Every event checkpoints the loan state
+ * after it, so the schedule is stitched together from one segment per event: the rows of the original schedule up
+ * to the first event, then the rows of each remainder loan up to the next one. Each segment calculates only the
+ * rows it contributes, so a read costs O(term + events) however many events there are. Remainder loans are not
+ * cached; the original schedule is sliced when it is.
+ */
+@Slf4j
+@Service
+public class SegmentedScheduleService {
+
+    private static final Comparator<ScheduleSegment> BY_REVISION =
+            Comparator.comparingInt(ScheduleSegment::getRevision);
+
+    private final PrepaymentRepository prepaymentRepository;
+    private final RateResetRepository rateResetRepository;
+    private final RepaymentScheduleService repaymentScheduleService;
+
+    public SegmentedScheduleService(PrepaymentRepository prepaymentRepository,
+                                    RateResetRepository rateResetRepository,
+                                    RepaymentScheduleService repaymentScheduleService) {
+        this.prepaymentRepository = prepaymentRepository;
+        this.rateResetRepository = rateResetRepository;
+        this.repaymentScheduleService = repaymentScheduleService;
+    }
+
+    public List<ScheduleSegment> findSegments(UUID loanId) {
+        List<ScheduleSegment> segments = new ArrayList<>(
+                prepaymentRepository.findByLoanIdOrderBySequenceNumber(loanId));
+        segments.addAll(rateResetRepository.findByLoanId(loanId));
+        segments.sort(BY_REVISION);
+        return segments;
+    }
+
+    /**
+     * Bulk variant of {@link #findSegments(UUID)}: two queries however many loans; loans without events are absent.
+     */
+    public Map<UUID, List<ScheduleSegment>> findSegments(Collection<UUID> loanIds) {
+        Map<UUID, List<ScheduleSegment>> segments = new HashMap<>();
+        prepaymentRepository.findByLoanIdIn(loanIds).forEach(prepayment ->
+                segments.computeIfAbsent(prepayment.getLoanId(), id -> new ArrayList<>()).add(prepayment));
+        rateResetRepository.findByLoanIdIn(loanIds).forEach(reset ->
+                segments.computeIfAbsent(reset.getLoanId(), id -> new ArrayList<>()).add(reset));
+        segments.values().forEach(loanSegments -> loanSegments.sort(BY_REVISION));
+        return segments;
+    }
+
+    public ScheduleColumns getSchedule(Loan loan) {
+        Assert.notNull(loan, "Loan cannot be null");
+        return getSchedule(loan, findSegments(loan.getId()));
+    }
+
+    /**
+     * Builds the schedule of {@code loan} from its already loaded {@code segments}, e.g. from the bulk
+     * {@link #findSegments(Collection)}.
+     */
+    public ScheduleColumns getSchedule(Loan loan, List<? extends ScheduleSegment> segments) {
+        if (segments.isEmpty()) {
+            return repaymentScheduleService.calculateScheduleColumns(loan);
+        }
+        
+        log.debug("Building schedule for loan id={} with {} segments", loan.getId(), segments.size());
+        ScheduleSegment last = segments.get(segments.size() - 1);
+        Loan current = currentSegment(loan, segments);
+        ScheduleColumns schedule = new ScheduleColumns(last.getInstallmentIndex() + current.getPeriodMonths());
+        LocalDate paymentDate = loan.getStartDate();
+        Loan segment = loan;
+        int segmentStart = 0;
+        for (ScheduleSegment event : segments) {
+            paymentDate = copyRows(segment, event.getInstallmentIndex() - segmentStart, paymentDate, schedule);
+            segment = event.remainderOf(loan, segment);
+            segmentStart = event.getInstallmentIndex();
+        }
+        copyRows(segment, segment.getPeriodMonths(), paymentDate, schedule);
+        return schedule;
+    }
+
+    /**
+     * Returns installments {@code [offset, offset + limit)} of the schedule with all events applied.
+     */
+    public ScheduleColumns getSchedule(Loan loan, int offset, int limit) {
+        Assert.isTrue(offset >= 0, "Offset cannot be negative");
+        Assert.isTrue(limit >= 1, "Limit must be at least 1");
+        ScheduleColumns schedule = getSchedule(loan);
+        int from = Math.min(offset, schedule.size());
+        int to = (int) Math.min((long) offset + limit, schedule.size());
+        return schedule.slice(from, to, ScheduleColumns.paymentDate(loan.getStartDate(), from));
+    }
+
+    public ScheduleItem getInstallment(Loan loan, int installmentNumber) {
+        ScheduleColumns schedule = getSchedule(loan);
+        Assert.isTrue(installmentNumber >= 1 && installmentNumber <= schedule.size(),
+                "Installment number must be between 1 and " + schedule.size());
+        return schedule.getItem(installmentNumber - 1);
+    }
+
+    /**
+     * Returns the state of the loan right before an event after {@code installmentIndex} installments. Only the
+     * installments of the current segment are calculated, and they are not cached.
+     */
+    public Checkpoint checkpoint(Loan loan, List<? extends ScheduleSegment> segments, int installmentIndex) {
+        Loan segment = currentSegment(loan, segments);
+        int segmentStart = segmentStart(segments);
+        Assert.isTrue(installmentIndex >= segmentStart, "Event cannot precede an earlier prepayment or rate reset");
+        int paid = installmentIndex - segmentStart;
+        Assert.isTrue(paid < segment.getPeriodMonths(), "Loan is already repaid by the event date");
+        
+        ScheduleColumns paidRows = repaymentScheduleService.calculateScheduleColumns(segment, 0, Math.max(paid, 1));
+        // Outstanding principal is the segment amount less the rounded principals repaid, as in the calculators
+        long outstanding = ScheduleColumns.toCents(segment.getAmount());
+        for (int index = 0; index < paid; index++) {
+            outstanding -= paidRows.getPrincipal(index);
+        }
+        return new Checkpoint(outstanding, segment.getPeriodMonths() - paid, paidRows.getPayment(0),
+                paidRows.getPrincipal(0), segment.getAnnualInterestRate());
+    }
+
+    /**
+     * The loan whose schedule is in force after all {@code segments}, or {@code loan} itself when there are none.
+     */
+    public static Loan currentSegment(Loan loan, List<? extends ScheduleSegment> segments) {
+        Loan segment = loan;
+        for (ScheduleSegment event : segments) {
+            segment = event.remainderOf(loan, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Index of the first installment of the current segment.
+     */
+    public static int segmentStart(List<? extends ScheduleSegment> segments) {
+        return segments.isEmpty() ? 0 : segments.get(segments.size() - 1).getInstallmentIndex();
+    }
+
+    private LocalDate copyRows(Loan segment, int rows, LocalDate paymentDate, ScheduleColumns schedule) {
+        if (rows == 0) {
+            return paymentDate;
+        }
+        // Dates continue the original schedule; the remainder loans only supply amounts
+        ScheduleColumns amounts = repaymentScheduleService.calculateScheduleColumns(segment, 0, rows);
+        for (int index = 0; index < rows; index++) {
+            schedule.add(paymentDate, amounts.getPayment(index), amounts.getPrincipal(index),
+                    amounts.getInterest(index), amounts.getRemainingBalance(index));
+            paymentDate = paymentDate.plusMonths(1);
+        }
+        return paymentDate;
+    }
+
+    /**
+     * Loan state before an event, in cents: the principal still owed, the installments left, the regular payment
+     * and principal of the current segment, and the annual rate in force.
+     */
+    public record Checkpoint(long outstandingPrincipal, int remainingInstallments, long regularPayment,
+                             long regularPrincipal, BigDecimal annualInterestRate) {
+    }
+}
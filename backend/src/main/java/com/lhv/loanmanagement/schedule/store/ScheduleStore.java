@@ -0,0 +1,150 @@
+package com.lhv.loanmanagement.schedule.store;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanChangedEvent;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.LoansChangedEvent;
+import com.lhv.loanmanagement.loan.LoansCreatedEvent;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.CALCULATOR_VERSION;
+
+/**
+ * Keeps precomputed schedules in {@code schedule_items}. Schedules are stored in the background after loans are
+ * committed and rewritten after they change; reads fall back to calculating when no current version is stored and
+ * store it in the background. A stored schedule is current when both the calculator version and the loan revision
+ * it was stamped with match.
+ */
+@Slf4j
+@Service
+public class ScheduleStore {
+
+    private final StoredScheduleRepository storedScheduleRepository;
+    private final RepaymentScheduleService repaymentScheduleService;
+    private final SegmentedScheduleService segmentedScheduleService;
+    private final LoanRepository loanRepository;
+    private final TaskExecutor taskExecutor;
+    private final Set<UUID> pendingLoanIds = ConcurrentHashMap.newKeySet();
+
+    public ScheduleStore(StoredScheduleRepository storedScheduleRepository,
+                         RepaymentScheduleService repaymentScheduleService,
+                         SegmentedScheduleService segmentedScheduleService,
+                         LoanRepository loanRepository,
+                         TaskExecutor taskExecutor) {
+        this.storedScheduleRepository = storedScheduleRepository;
+        this.repaymentScheduleService = repaymentScheduleService;
+        this.segmentedScheduleService = segmentedScheduleService;
+        this.loanRepository = loanRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoansCreated(LoansCreatedEvent event) {
+        log.debug("Scheduling storage of {} new loan schedules", event.loans().size());
+        taskExecutor.execute(() -> event.loans().forEach(this::store));
+    }
+
+    /**
+     * Rewrites the schedule of a changed loan from its committed state. Deleted loans lose their rows with them.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanChanged(LoanChangedEvent event) {
+        log.debug("Scheduling storage of changed loan schedule id={}", event.loanId());
+        taskExecutor.execute(() -> {
+            try {
+                loanRepository.findById(event.loanId()).ifPresent(this::store);
+            } catch (RuntimeException e) {
+                // Reads see the revision mismatch and store the schedule again
+                log.warn("Failed to load changed loan id={}: {}", event.loanId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Rewrites the schedules of loans changed together, e.g. a repricing chunk: the loans and their segments are
+     * loaded with one query each and the rows are replaced in one batch.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoansChanged(LoansChangedEvent event) {
+        log.debug("Scheduling storage of {} changed loan schedules", event.loanIds().size());
+        taskExecutor.execute(() -> storeAll(event.loanIds()));
+    }
+
+    public ScheduleColumns getSchedule(Loan loan) {
+        Assert.notNull(loan, "Loan cannot be null");
+        
+        Optional<StoredSchedule> stored = storedScheduleRepository.findByLoan(loan);
+        if (stored.isPresent() && stored.get().calculatorVersion() == CALCULATOR_VERSION
+                && stored.get().loanRevision() == loan.getRevision()) {
+            log.debug("Using stored schedule for loan id={}", loan.getId());
+            return stored.get().schedule();
+        }
+        
+        log.debug("No current stored schedule for loan id={}, storedVersion={}, storedRevision={}", loan.getId(),
+                stored.map(StoredSchedule::calculatorVersion).orElse(null),
+                stored.map(StoredSchedule::loanRevision).orElse(null));
+        if (pendingLoanIds.add(loan.getId())) {
+            taskExecutor.execute(() -> {
+                try {
+                    store(loan);
+                } finally {
+                    pendingLoanIds.remove(loan.getId());
+                }
+            });
+        }
+        return calculate(loan);
+    }
+
+    private void store(Loan loan) {
+        try {
+            ScheduleColumns schedule = calculate(loan);
+            storedScheduleRepository.replace(loan.getId(), schedule, CALCULATOR_VERSION, loan.getRevision());
+            log.debug("Stored schedule with {} items for loan id={}, revision={}", schedule.size(), loan.getId(),
+                    loan.getRevision());
+        } catch (RuntimeException e) {
+            // The schedule is calculated on read until a later attempt succeeds
+            log.warn("Failed to store schedule for loan id={}: {}", loan.getId(), e.getMessage());
+        }
+    }
+
+    private void storeAll(List<UUID> loanIds) {
+        try {
+            List<Loan> loans = loanRepository.findAllById(loanIds);
+            Map<UUID, List<ScheduleSegment>> segments = segmentedScheduleService.findSegments(loanIds);
+            Map<UUID, StoredSchedule> schedules = new HashMap<>();
+            for (Loan loan : loans) {
+                ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan,
+                        segments.getOrDefault(loan.getId(), List.of()));
+                schedules.put(loan.getId(), new StoredSchedule(CALCULATOR_VERSION, loan.getRevision(), schedule));
+            }
+            storedScheduleRepository.replaceAll(schedules);
+            log.debug("Stored schedules of {} changed loans", schedules.size());
+        } catch (RuntimeException e) {
+            // Reads see the revision mismatch and store the schedules again one by one
+            log.warn("Failed to store schedules of {} changed loans: {}", loanIds.size(), e.getMessage());
+        }
+    }
+
+    private ScheduleColumns calculate(Loan loan) {
+        // Prepayments and rate resets are stitched from their checkpoints
+        return loan.getRevision() > 0
+                ? segmentedScheduleService.getSchedule(loan)
+                : repaymentScheduleService.calculateScheduleColumns(loan);
+    }
+}
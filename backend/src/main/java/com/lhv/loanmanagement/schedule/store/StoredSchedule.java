@@ -0,0 +1,6 @@
+package com.lhv.loanmanagement.schedule.store;
+
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+
+public record StoredSchedule(int calculatorVersion, int loanRevision, ScheduleColumns schedule) {
+}
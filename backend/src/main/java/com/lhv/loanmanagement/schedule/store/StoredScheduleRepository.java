@@ -0,0 +1,137 @@
+package com.lhv.loanmanagement.schedule.store;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to {@code schedule_items}: rows are written in batches and read straight into
+ * {@link ScheduleColumns}, with amounts converted to cents by the database.
+ */
+@Repository
+public class StoredScheduleRepository {
+
+    private static final String SELECT_SQL = """
+            select installment_number, payment_date, calculator_version, loan_revision,
+                   cast(payment * 100 as bigint) as payment,
+                   cast(principal * 100 as bigint) as principal,
+                   cast(interest * 100 as bigint) as interest,
+                   cast(remaining_balance * 100 as bigint) as remaining_balance
+            from schedule_items
+            where loan_id = ?
+            order by installment_number""";
+
+    private static final String INSERT_SQL = """
+            insert into schedule_items (loan_id, installment_number, payment_date, payment, principal, interest,
+                                        remaining_balance, calculator_version, loan_revision)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String DELETE_SQL = "delete from schedule_items where loan_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StoredScheduleRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the stored schedule of the loan, or empty when there is none or the rows do not form a complete
+     * schedule for the loan's period. Prepayments may shorten the schedules of later loan revisions, so those only
+     * need to be contiguous and no longer than the period.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredSchedule> findByLoan(Loan loan) {
+        int periodMonths = loan.getPeriodMonths();
+        ScheduleColumns schedule = new ScheduleColumns(periodMonths);
+        int[] calculatorVersion = new int[1];
+        int[] loanRevision = new int[1];
+        boolean[] complete = {true};
+        jdbcTemplate.query(SELECT_SQL, resultSet -> {
+            if (!complete[0] || schedule.size() == periodMonths
+                    || resultSet.getInt("installment_number") != schedule.size() + 1) {
+                complete[0] = false;
+                return;
+            }
+            calculatorVersion[0] = resultSet.getInt("calculator_version");
+            loanRevision[0] = resultSet.getInt("loan_revision");
+            schedule.add(resultSet.getObject("payment_date", LocalDate.class),
+                    resultSet.getLong("payment"),
+                    resultSet.getLong("principal"),
+                    resultSet.getLong("interest"),
+                    resultSet.getLong("remaining_balance"));
+        }, loan.getId());
+        
+        if (!complete[0] || schedule.size() == 0 || loanRevision[0] == 0 && schedule.size() != periodMonths) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredSchedule(calculatorVersion[0], loanRevision[0], schedule));
+    }
+
+    @Transactional
+    public void replace(UUID loanId, ScheduleColumns schedule, int calculatorVersion, int loanRevision) {
+        replaceAll(Map.of(loanId, new StoredSchedule(calculatorVersion, loanRevision, schedule)));
+    }
+
+    /**
+     * Replaces the stored schedules of several loans with one batch of deletes and one batch of inserts.
+     */
+    @Transactional
+    public void replaceAll(Map<UUID, StoredSchedule> schedules) {
+        List<UUID> loanIds = List.copyOf(schedules.keySet());
+        jdbcTemplate.batchUpdate(DELETE_SQL, loanIds, loanIds.size(),
+                (statement, loanId) -> statement.setObject(1, loanId));
+        
+        // Row i belongs to the last loan whose first row is at or before i
+        int[] firstRows = new int[loanIds.size()];
+        int rows = 0;
+        for (int loan = 0; loan < loanIds.size(); loan++) {
+            firstRows[loan] = rows;
+            rows += schedules.get(loanIds.get(loan)).schedule().size();
+        }
+        int totalRows = rows;
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int row) throws SQLException {
+                int loan = Arrays.binarySearch(firstRows, row);
+                if (loan < 0) {
+                    loan = -loan - 2;
+                }
+                // Loans with empty schedules share their first row with the next loan
+                while (loan + 1 < firstRows.length && firstRows[loan + 1] == row) {
+                    loan++;
+                }
+                UUID loanId = loanIds.get(loan);
+                StoredSchedule stored = schedules.get(loanId);
+                ScheduleColumns schedule = stored.schedule();
+                int index = row - firstRows[loan];
+                statement.setObject(1, loanId);
+                statement.setInt(2, index + 1);
+                statement.setDate(3, Date.valueOf(schedule.getPaymentDate(index)));
+                statement.setBigDecimal(4, ScheduleColumns.toAmount(schedule.getPayment(index)));
+                statement.setBigDecimal(5, ScheduleColumns.toAmount(schedule.getPrincipal(index)));
+                statement.setBigDecimal(6, ScheduleColumns.toAmount(schedule.getInterest(index)));
+                statement.setBigDecimal(7, ScheduleColumns.toAmount(schedule.getRemainingBalance(index)));
+                statement.setInt(8, stored.calculatorVersion());
+                statement.setInt(9, stored.loanRevision());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return totalRows;
+            }
+        });
+    }
+}
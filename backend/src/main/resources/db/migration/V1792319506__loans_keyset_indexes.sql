@@ -0,0 +1,7 @@
+-- Extend filter indexes with the keyset pagination order (start_date, id)
+-- so that every page of GET /api/loans is an index range scan.
+DROP INDEX idx_loans_loan_type;
+CREATE INDEX idx_loans_loan_type ON loans(loan_type, start_date, id);
+
+DROP INDEX idx_loans_start_date;
+CREATE INDEX idx_loans_start_date ON loans(start_date, id);
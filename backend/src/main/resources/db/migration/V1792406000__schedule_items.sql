@@ -0,0 +1,13 @@
+-- Precomputed repayment schedules, one row per installment, written after a loan is created.
+-- Rows calculated by a different calculator version than the running one are stale and get recomputed.
+CREATE TABLE schedule_items (
+    loan_id UUID NOT NULL REFERENCES loans(id) ON DELETE CASCADE,
+    installment_number INTEGER NOT NULL,
+    payment_date DATE NOT NULL,
+    payment NUMERIC(17, 2) NOT NULL,
+    principal NUMERIC(17, 2) NOT NULL,
+    interest NUMERIC(17, 2) NOT NULL,
+    remaining_balance NUMERIC(17, 2) NOT NULL,
+    calculator_version INTEGER NOT NULL,
+    PRIMARY KEY (loan_id, installment_number)
+);
@@ -0,0 +1,18 @@
+-- Early repayments. Each row also checkpoints the loan state right after the prepayment: the schedule from
+-- then on is the schedule of a loan of balance_after over remaining_months, so reads never replay earlier events.
+CREATE TABLE prepayments (
+    id UUID PRIMARY KEY,
+    loan_id UUID NOT NULL REFERENCES loans(id) ON DELETE CASCADE,
+    sequence_number INTEGER NOT NULL,
+    prepayment_date DATE NOT NULL,
+    amount NUMERIC(15, 2) NOT NULL CHECK (amount > 0),
+    prepayment_type VARCHAR(20) NOT NULL,
+    adjustment VARCHAR(20),
+    installment_index INTEGER NOT NULL CHECK (installment_index >= 0),
+    balance_after NUMERIC(15, 2) NOT NULL CHECK (balance_after >= 0),
+    remaining_months INTEGER NOT NULL CHECK (remaining_months >= 0),
+    UNIQUE (loan_id, sequence_number)
+);
+
+-- Bumped by every change that alters a loan's schedule; part of the schedule ETag
+ALTER TABLE loans ADD COLUMN revision INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,50 @@
+-- Published values of reference indexes such as EURIBOR_6M, in percent; may be negative
+CREATE TABLE reference_rates (
+    id UUID PRIMARY KEY,
+    index_name VARCHAR(20) NOT NULL,
+    effective_date DATE NOT NULL,
+    rate NUMERIC(7, 4) NOT NULL,
+    UNIQUE (index_name, effective_date)
+);
+
+-- Variable-rate loans are repriced to the reference index plus the margin
+ALTER TABLE loans ADD COLUMN reference_index VARCHAR(20);
+ALTER TABLE loans ADD COLUMN margin NUMERIC(5, 2);
+ALTER TABLE loans ADD CONSTRAINT loans_reference_index_margin
+    CHECK ((reference_index IS NULL) = (margin IS NULL));
+
+-- Repricing jobs walk the loans of one index in id order
+CREATE INDEX idx_loans_reference_index_id ON loans(reference_index, id) WHERE reference_index IS NOT NULL;
+
+-- Prepayments and rate resets both restart the schedule; the loan revision they created orders them
+ALTER TABLE prepayments ADD COLUMN revision INTEGER;
+UPDATE prepayments SET revision = sequence_number;
+ALTER TABLE prepayments ALTER COLUMN revision SET NOT NULL;
+
+-- Each row checkpoints the loan at the reset, like prepayments do
+CREATE TABLE rate_resets (
+    id UUID PRIMARY KEY,
+    loan_id UUID NOT NULL REFERENCES loans(id) ON DELETE CASCADE,
+    revision INTEGER NOT NULL,
+    reference_rate_id UUID NOT NULL REFERENCES reference_rates(id),
+    reset_date DATE NOT NULL,
+    annual_interest_rate NUMERIC(5, 2) NOT NULL CHECK (annual_interest_rate >= 0 AND annual_interest_rate <= 100),
+    installment_index INTEGER NOT NULL CHECK (installment_index >= 0),
+    balance_after NUMERIC(15, 2) NOT NULL CHECK (balance_after > 0),
+    remaining_months INTEGER NOT NULL CHECK (remaining_months > 0),
+    UNIQUE (loan_id, reference_rate_id)
+);
+
+-- One job per published rate; last_loan_id is the checkpoint a restarted job continues after
+CREATE TABLE repricing_jobs (
+    id UUID PRIMARY KEY,
+    reference_rate_id UUID NOT NULL UNIQUE REFERENCES reference_rates(id),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    last_loan_id UUID,
+    total_loans BIGINT NOT NULL,
+    processed_loans BIGINT NOT NULL DEFAULT 0,
+    repriced_loans BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,2 @@
+-- Stored schedules are stamped with the loan revision they were calculated for; older revisions are stale
+ALTER TABLE schedule_items ADD COLUMN loan_revision INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Rate in force after the latest rate reset; NULL while the contracted annual_interest_rate applies
+ALTER TABLE loans ADD COLUMN current_interest_rate NUMERIC(5, 2);
+UPDATE loans SET current_interest_rate = (
+    SELECT r.annual_interest_rate FROM rate_resets r
+    WHERE r.loan_id = loans.id
+    ORDER BY r.revision DESC
+    LIMIT 1
+);
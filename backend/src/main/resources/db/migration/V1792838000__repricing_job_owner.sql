@@ -0,0 +1,3 @@
+-- Node running the job, claimed with a conditional update; updated_at is its heartbeat. Another node may take
+-- over a running job once its owner has not written a chunk for the lease timeout.
+ALTER TABLE repricing_jobs ADD COLUMN owner_id UUID;
@@ -0,0 +1,111 @@
+package com.lhv.loanmanagement.loan.cache;
+
+import com.lhv.loanmanagement.loan.Loan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanCacheTest {
+
+    private final LoanCache cache = new LoanCache(100, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("Should load a loan once and serve repeated lookups from the cache")
+    void shouldReadThrough() {
+        // Given
+        Loan loan = Loan.builder().id(UUID.randomUUID()).build();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Optional<Loan> first = cache.get(loan.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.of(loan);
+        });
+        Optional<Loan> second = cache.get(loan.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.of(loan);
+        });
+
+        // Then
+        assertThat(first).contains(loan);
+        assertThat(second).contains(loan);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing loans")
+    void shouldNotCacheMisses() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Loan loan = Loan.builder().id(id).build();
+
+        // When
+        Optional<Loan> missing = cache.get(id, key -> Optional.empty());
+        Optional<Loan> found = cache.get(id, key -> Optional.of(loan));
+
+        // Then
+        assertThat(missing).isEmpty();
+        assertThat(found).contains(loan);
+    }
+
+    @Test
+    @DisplayName("Should reload a loan after eviction")
+    void shouldReloadAfterEviction() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Loan original = Loan.builder().id(id).build();
+        Loan updated = Loan.builder().id(id).revision(1).build();
+        cache.get(id, key -> Optional.of(original));
+
+        // When
+        cache.evict(id);
+        Optional<Loan> reloaded = cache.get(id, key -> Optional.of(updated));
+
+        // Then
+        assertThat(reloaded).contains(updated);
+    }
+
+    @Test
+    @DisplayName("Should not let callers modify the cached loan")
+    void shouldHandOutCopies() {
+        // Given
+        Loan loan = Loan.builder().id(UUID.randomUUID()).annualInterestRate(new BigDecimal("5.00")).build();
+        Loan returned = cache.get(loan.getId(), id -> Optional.of(loan)).orElseThrow();
+
+        // When
+        returned.setAnnualInterestRate(new BigDecimal("9.00"));
+        loan.setRevision(1);
+        Optional<Loan> cached = cache.get(loan.getId(), id -> Optional.empty());
+
+        // Then
+        assertThat(returned).isNotSameAs(loan);
+        assertThat(cached).get().isNotSameAs(returned);
+        assertThat(cached.get().getAnnualInterestRate()).isEqualByComparingTo("5.00");
+        assertThat(cached.get().getRevision()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish the hit ratio")
+    void shouldPublishHitRatio() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        Loan loan = Loan.builder().id(UUID.randomUUID()).build();
+
+        // When
+        cache.get(loan.getId(), id -> Optional.of(loan));
+        cache.get(loan.getId(), id -> Optional.of(loan));
+
+        // Then
+        assertThat(registry.get("cache.hit.ratio").tag("cache", "loans").gauge().value()).isEqualTo(0.5);
+    }
+}
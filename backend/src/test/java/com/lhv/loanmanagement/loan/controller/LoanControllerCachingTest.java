@@ -0,0 +1,232 @@
+package com.lhv.loanmanagement.loan.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.cache.ResponseBytesCache;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.loan.service.LoanBatchService;
+import com.lhv.loanmanagement.loan.service.LoanExportService;
+import com.lhv.loanmanagement.loan.service.LoanService;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.service.AprService;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import com.lhv.loanmanagement.schedule.store.ScheduleStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class LoanControllerCachingTest {
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private LoanBatchService loanBatchService;
+
+    @Mock
+    private LoanExportService loanExportService;
+
+    @Mock
+    private RepaymentScheduleService repaymentScheduleService;
+
+    @Mock
+    private SegmentedScheduleService segmentedScheduleService;
+
+    @Mock
+    private AprService aprService;
+
+    @Mock
+    private ScheduleStore scheduleStore;
+
+    private ResponseBytesCache responseBytesCache;
+    private MockMvc mockMvc;
+    private Loan loan;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        responseBytesCache = new ResponseBytesCache(1_000_000, 1_000);
+        LoanController controller = new LoanController(loanService, loanBatchService, loanExportService,
+                repaymentScheduleService, segmentedScheduleService, aprService, scheduleStore,
+                new ScheduleResponseWriter(objectMapper), responseBytesCache, objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        loan = Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal("10000.00"))
+                .periodMonths(12)
+                .annualInterestRate(new BigDecimal("5.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+        when(loanService.findById(loan.getId())).thenReturn(loan);
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without calculating the schedule")
+    void shouldReturnNotModifiedWithoutCalculation() throws Exception {
+        // Given
+        String eTag = LoanETags.schedule(loan, null, null, false, false);
+
+        // When / Then
+        mockMvc.perform(get("/api/loans/{id}/schedule", loan.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verifyNoInteractions(scheduleStore, repaymentScheduleService);
+    }
+
+    @Test
+    @DisplayName("Should send the schedule with its tag when the tag does not match")
+    void shouldReturnScheduleWithETag() throws Exception {
+        // Given
+        when(scheduleStore.getSchedule(loan)).thenReturn(new AnnuityScheduleCalculator().calculateColumns(loan));
+
+        // When / Then
+        getSchedule(get("/api/loans/{id}/schedule", loan.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, LoanETags.schedule(loan, null, null, false, false)))
+                .andExpect(jsonPath("$.items.length()").value(12));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the response cache, gzipped when accepted")
+    void shouldServeCachedGzipBytes() throws Exception {
+        // Given
+        when(scheduleStore.getSchedule(loan)).thenReturn(new AnnuityScheduleCalculator().calculateColumns(loan));
+        MvcResult plain = getSchedule(get("/api/loans/{id}/schedule", loan.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // When
+        MvcResult first = getSchedule(get("/api/loans/{id}/schedule", loan.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        MvcResult second = getSchedule(get("/api/loans/{id}/schedule", loan.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Then
+        verify(scheduleStore, times(2)).getSchedule(loan);
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray())
+                .isNotEqualTo(plain.getResponse().getContentAsByteArray());
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(first.getResponse().getContentAsByteArray()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(plain.getResponse().getContentAsByteArray());
+        }
+        assertThat(first.getResponse().getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should stream bodies beyond the entry limit without caching them")
+    void shouldNotCacheOversizedBodies() throws Exception {
+        // Given: 12 JSON rows take more than the 1000 byte entry limit, gzipped they take less
+        when(scheduleStore.getSchedule(loan)).thenReturn(new AnnuityScheduleCalculator().calculateColumns(loan));
+
+        // When
+        MvcResult plain = getSchedule(get("/api/loans/{id}/schedule", loan.getId())).andReturn();
+        MvcResult compressed = getSchedule(get("/api/loans/{id}/schedule", loan.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn();
+
+        // Then
+        assertThat(plain.getResponse().getContentAsByteArray().length).isGreaterThan(1_000);
+        assertThat(responseBytesCache.getIfPresent(plain.getResponse().getHeader(HttpHeaders.ETAG))).isNull();
+        assertThat(responseBytesCache.getIfPresent(compressed.getResponse().getHeader(HttpHeaders.ETAG)))
+                .isEqualTo(compressed.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should tag each schedule representation and window differently")
+    void shouldDistinguishRepresentations() throws Exception {
+        when(scheduleStore.getSchedule(loan)).thenReturn(new AnnuityScheduleCalculator().calculateColumns(loan));
+        String json = LoanETags.schedule(loan, null, null, false, false);
+
+        assertThat(LoanETags.schedule(loan, null, null, true, false)).isNotEqualTo(json);
+        assertThat(LoanETags.schedule(loan, 0, 6, false, false)).isNotEqualTo(json);
+        assertThat(LoanETags.schedule(loan, null, null, false, true)).isNotEqualTo(json);
+        assertThat(LoanETags.schedule(loan, null, null, false, false)).isEqualTo(json).startsWith("\"").endsWith("\"");
+
+        getSchedule(get("/api/loans/{id}/schedule", loan.getId())
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, LoanETags.schedule(loan, null, null, true, false)));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match on the loan with 304")
+    void shouldReturnLoanNotModified() throws Exception {
+        String eTag = LoanETags.loan(loan);
+
+        mockMvc.perform(get("/api/loans/{id}", loan.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.id").value(loan.getId().toString()));
+        mockMvc.perform(get("/api/loans/{id}", loan.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should show the contracted and the current rate of a repriced loan")
+    void shouldReturnCurrentRateOfRepricedLoan() throws Exception {
+        // Given
+        loan.setRevision(1);
+        loan.setCurrentInterestRate(new BigDecimal("6.25"));
+
+        // When / Then
+        mockMvc.perform(get("/api/loans/{id}", loan.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.annualInterestRate").value(5.00))
+                .andExpect(jsonPath("$.currentInterestRate").value(6.25));
+    }
+
+    @Test
+    @DisplayName("Should show the contracted rate as current before any rate reset")
+    void shouldReturnContractRateAsCurrent() throws Exception {
+        mockMvc.perform(get("/api/loans/{id}", loan.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentInterestRate").value(5.00));
+    }
+
+    private ResultActions getSchedule(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
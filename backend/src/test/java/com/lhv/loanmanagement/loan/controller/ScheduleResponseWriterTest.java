@@ -0,0 +1,85 @@
+package com.lhv.loanmanagement.loan.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.dto.ScheduleResponse;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleResponseWriterTest {
+
+    private ObjectMapper objectMapper;
+    private ScheduleResponseWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new ScheduleResponseWriter(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON as serializing ScheduleResponse")
+    void shouldMatchScheduleResponseJson() throws Exception {
+        // Given
+        Loan loan = Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal("9999999999999.99"))
+                .periodMonths(360)
+                .annualInterestRate(new BigDecimal("4.35"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+        ScheduleColumns schedule = new AnnuityScheduleCalculator().calculateColumns(loan);
+
+        // When
+        String json = write(schedule);
+
+        // Then
+        assertThat(json).isEqualTo(
+                objectMapper.writeValueAsString(ScheduleResponse.builder().items(schedule.asItems()).build()));
+    }
+
+    @Test
+    @DisplayName("Should format small and negative amounts like BigDecimal")
+    void shouldFormatSmallAndNegativeAmounts() throws Exception {
+        ScheduleColumns schedule = new ScheduleColumns(2);
+        schedule.add(LocalDate.of(2024, 2, 29), 5, 0, 5, -1);
+        schedule.add(LocalDate.of(2024, 3, 29), 100, -105, 205, 0);
+
+        String json = write(schedule);
+
+        assertThat(json).isEqualTo(
+                objectMapper.writeValueAsString(ScheduleResponse.builder().items(schedule.asItems()).build()));
+        assertThat(json).contains("\"payment\":0.05", "\"remainingBalance\":-0.01", "\"principal\":-1.05");
+    }
+
+    @Test
+    @DisplayName("Should write an empty item list for an empty schedule")
+    void shouldWriteEmptySchedule() throws Exception {
+        assertThat(write(new ScheduleColumns(0))).isEqualTo("{\"items\":[]}");
+    }
+
+    private String write(ScheduleColumns schedule) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.write(schedule, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.lhv.loanmanagement.loan.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoanCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same keyset position")
+    void shouldRoundTripCursor() {
+        LoanCursor cursor = new LoanCursor(LocalDate.of(2024, 2, 29), UUID.randomUUID());
+
+        LoanCursor decoded = LoanCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should produce an opaque URL-safe token")
+    void shouldProduceUrlSafeToken() {
+        String token = new LoanCursor(LocalDate.of(2024, 1, 1), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursors() {
+        assertThatThrownBy(() -> LoanCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> LoanCursor.decode("MjAyNC0wMS0wMQ"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+}
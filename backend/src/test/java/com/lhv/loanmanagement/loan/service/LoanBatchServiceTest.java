@@ -0,0 +1,125 @@
+package com.lhv.loanmanagement.loan.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.dto.BatchCreateLoansResponse;
+import com.lhv.loanmanagement.loan.dto.BatchItemResult;
+import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanBatchServiceTest {
+
+    @Mock
+    private LoanService loanService;
+
+    private ValidatorFactory validatorFactory;
+    private LoanBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new LoanBatchService(loanService, validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should persist valid loans and report invalid ones at their original index")
+    void shouldReportPerItemResults() {
+        // Given
+        CreateLoanRequest invalid = createRequest("1000.00");
+        invalid.setPeriodMonths(0);
+        List<CreateLoanRequest> requests = List.of(createRequest("1000.00"), invalid, createRequest("2500.50"));
+        when(loanService.createAll(anyList())).thenAnswer(invocation -> {
+            List<Loan> loans = invocation.getArgument(0);
+            loans.forEach(loan -> loan.setId(UUID.randomUUID()));
+            return loans;
+        });
+
+        // When
+        BatchCreateLoansResponse response = service.createAll(requests);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Loan>> captor = ArgumentCaptor.forClass(List.class);
+        verify(loanService).createAll(captor.capture());
+        assertThat(captor.getValue()).extracting(Loan::getAmount)
+                .containsExactly(new BigDecimal("1000.00"), new BigDecimal("2500.50"));
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getInvalid()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus).containsExactly(
+                BatchItemResult.Status.CREATED, BatchItemResult.Status.INVALID, BatchItemResult.Status.CREATED);
+        assertThat(response.getResults().get(0).getId()).isEqualTo(captor.getValue().get(0).getId());
+        assertThat(response.getResults().get(1).getFieldErrors())
+                .containsEntry("periodMonths", "Period must be at least 1 month");
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when every loan is invalid")
+    void shouldSkipPersistenceWhenAllInvalid() {
+        // Given
+        List<CreateLoanRequest> requests = new ArrayList<>();
+        requests.add(null);
+        requests.add(new CreateLoanRequest());
+
+        // When
+        BatchCreateLoansResponse response = service.createAll(requests);
+
+        // Then
+        verify(loanService, never()).createAll(anyList());
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getInvalid()).isEqualTo(2);
+        assertThat(response.getResults().get(1).getFieldErrors()).containsKeys("loanType", "amount", "startDate");
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void shouldRejectInvalidBatchSize() {
+        assertThatThrownBy(() -> service.createAll(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.createAll(
+                Collections.nCopies(LoanBatchService.MAX_BATCH_SIZE + 1, createRequest("1000.00"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CreateLoanRequest createRequest(String amount) {
+        return CreateLoanRequest.builder()
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(12)
+                .annualInterestRate(new BigDecimal("5.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
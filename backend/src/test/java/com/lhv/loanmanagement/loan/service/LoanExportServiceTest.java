@@ -0,0 +1,103 @@
+package com.lhv.loanmanagement.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.AprCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.service.AprService;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanExportServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private LoanExportService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        RepaymentScheduleService repaymentScheduleService = new RepaymentScheduleService(
+                List.of(new AnnuityScheduleCalculator()), new ScheduleCache(1_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
+        AprService aprService = new AprService(new AprCalculator(), repaymentScheduleService, 1_000);
+        service = new LoanExportService(loanRepository, entityManager, aprService, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line and detach every exported loan")
+    void shouldWriteNdjsonAndDetachLoans() throws Exception {
+        Loan first = createLoan("1000.00");
+        Loan second = createLoan("2500.50");
+        when(loanRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = service.exportTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":\"" + first.getId() + "\"", "\"amount\":1000.00", "\"startDate\":\"2024-01-01\"");
+        assertThat(lines[0]).contains("\"annualPercentageRate\":5.12");
+        assertThat(lines[1]).contains("\"id\":\"" + second.getId() + "\"", "\"amount\":2500.50");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty portfolio")
+    void shouldWriteNothingForEmptyPortfolio() throws Exception {
+        when(loanRepository.streamAll()).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = service.exportTo(output);
+
+        assertThat(count).isZero();
+        assertThat(output.size()).isZero();
+    }
+
+    private Loan createLoan(String amount) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(12)
+                .annualInterestRate(new BigDecimal("5.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .build();
+    }
+}
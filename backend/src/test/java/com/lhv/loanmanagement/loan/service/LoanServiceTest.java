@@ -0,0 +1,68 @@
+package com.lhv.loanmanagement.loan.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.cache.LoanCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MeterRegistry meterRegistry;
+    private LoanService loanService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loanService = new LoanService(loanRepository, new LoanCache(100, Duration.ofMinutes(10)), entityManager,
+                eventPublisher, meterRegistry, 500);
+    }
+
+    @Test
+    @DisplayName("Should time every lookup and only the database reads of cache misses")
+    void shouldTimeCacheHitsSeparatelyFromDatabaseReads() {
+        // Given
+        Loan loan = Loan.builder().id(UUID.randomUUID()).build();
+        when(loanRepository.findById(loan.getId())).thenReturn(Optional.of(loan));
+
+        // When
+        loanService.findById(loan.getId());
+        loanService.findById(loan.getId());
+
+        // Then
+        verify(loanRepository, times(1)).findById(loan.getId());
+        assertThat(timerCount("findById")).isEqualTo(2);
+        assertThat(timerCount("findById.db")).isEqualTo(1);
+    }
+
+    private long timerCount(String operation) {
+        return meterRegistry.get("loan.service").tag("operation", operation).timer().count();
+    }
+}
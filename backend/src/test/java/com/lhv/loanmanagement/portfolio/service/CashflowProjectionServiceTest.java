@@ -0,0 +1,227 @@
+package com.lhv.loanmanagement.portfolio.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.portfolio.model.CashflowAccumulator;
+import com.lhv.loanmanagement.prepayment.Prepayment;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import com.lhv.loanmanagement.repricing.RateReset;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toCents;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CashflowProjectionServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PrepaymentRepository prepaymentRepository;
+
+    @Mock
+    private RateResetRepository rateResetRepository;
+
+    private RepaymentScheduleService repaymentScheduleService;
+    private SegmentedScheduleService segmentedScheduleService;
+    private CashflowProjectionService service;
+
+    @BeforeEach
+    void setUp() {
+        repaymentScheduleService = new RepaymentScheduleService(
+                List.of(new AnnuityScheduleCalculator(), new EqualPrincipalScheduleCalculator()), new ScheduleCache(10_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
+        segmentedScheduleService = new SegmentedScheduleService(prepaymentRepository, rateResetRepository,
+                repaymentScheduleService);
+        // Chunks of one loan so every result goes through the merge
+        service = new CashflowProjectionService(loanRepository, entityManager, repaymentScheduleService,
+                segmentedScheduleService, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should sum installments of all loans per month inside the window")
+    void shouldSumInstallmentsPerMonth() {
+        // Given
+        YearMonth from = YearMonth.of(2024, 6);
+        YearMonth to = YearMonth.of(2025, 5);
+        List<Loan> loans = List.of(
+                createLoan(ScheduleType.ANNUITY, "10000.00", 24, LocalDate.of(2024, 1, 31)),
+                createLoan(ScheduleType.EQUAL_PRINCIPAL, "5000.00", 6, LocalDate.of(2025, 3, 15)),
+                createLoan(ScheduleType.ANNUITY, "2500.00", 3, LocalDate.of(2023, 1, 10)));
+        when(loanRepository.streamStartingOnOrBefore(any())).thenReturn(loans.stream());
+
+        // When
+        CashflowAccumulator projection = service.project(from, to);
+
+        // Then
+        long[] expectedPrincipals = new long[12];
+        long[] expectedInterests = new long[12];
+        for (Loan loan : loans) {
+            for (ScheduleItem item : repaymentScheduleService.calculateSchedule(loan)) {
+                YearMonth month = YearMonth.from(item.getPaymentDate());
+                if (!month.isBefore(from) && !month.isAfter(to)) {
+                    int offset = (int) from.until(month, ChronoUnit.MONTHS);
+                    expectedPrincipals[offset] += toCents(item.getPrincipal());
+                    expectedInterests[offset] += toCents(item.getInterest());
+                }
+            }
+        }
+        assertThat(projection.months()).isEqualTo(12);
+        assertThat(projection.getLoanCount()).isEqualTo(2);
+        for (int offset = 0; offset < 12; offset++) {
+            assertThat(projection.getPrincipal(offset)).as("principal at %d", offset).isEqualTo(expectedPrincipals[offset]);
+            assertThat(projection.getInterest(offset)).as("interest at %d", offset).isEqualTo(expectedInterests[offset]);
+        }
+        assertThat(projection.getPrincipal(11)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should project prepaid loans from their segmented schedule")
+    void shouldProjectPrepaidLoans() {
+        // Given: a prepayment after 6 installments leaves 25000 over the remaining 54 months
+        YearMonth from = YearMonth.of(2024, 1);
+        YearMonth to = YearMonth.of(2028, 12);
+        Loan loan = createLoan(ScheduleType.ANNUITY, "50000.00", 60, LocalDate.of(2024, 1, 15));
+        loan.setRevision(1);
+        Prepayment prepayment = Prepayment.builder()
+                .loanId(loan.getId())
+                .sequenceNumber(1)
+                .revision(1)
+                .prepaymentDate(LocalDate.of(2024, 6, 20))
+                .amount(new BigDecimal("20000.00"))
+                .prepaymentType(PrepaymentType.PARTIAL)
+                .adjustment(PrepaymentAdjustment.REDUCE_PAYMENT)
+                .installmentIndex(6)
+                .balanceAfter(new BigDecimal("25000.00"))
+                .remainingMonths(54)
+                .build();
+        when(loanRepository.streamStartingOnOrBefore(any())).thenReturn(Stream.of(loan));
+        when(prepaymentRepository.findByLoanIdIn(List.of(loan.getId()))).thenReturn(List.of(prepayment));
+
+        // When
+        CashflowAccumulator projection = service.project(from, to);
+
+        // Then
+        ScheduleColumns expected = segmentedScheduleService.getSchedule(loan, List.of(prepayment));
+        ScheduleColumns contract = repaymentScheduleService.calculateScheduleAmounts(loan);
+        assertThat(projection.getLoanCount()).isEqualTo(1);
+        for (int offset = 0; offset < 60; offset++) {
+            assertThat(projection.getPrincipal(offset)).as("principal at %d", offset)
+                    .isEqualTo(expected.getPrincipal(offset));
+            assertThat(projection.getInterest(offset)).as("interest at %d", offset)
+                    .isEqualTo(expected.getInterest(offset));
+        }
+        assertThat(projection.getInterest(6)).isLessThan(contract.getInterest(6));
+    }
+
+    @Test
+    @DisplayName("Should project repriced loans from their segmented schedule")
+    void shouldProjectRepricedLoans() {
+        // Given: the 7.50% rate resets to 9.50% after 12 installments on the contracted balance
+        YearMonth from = YearMonth.of(2024, 1);
+        YearMonth to = YearMonth.of(2028, 12);
+        Loan loan = createLoan(ScheduleType.ANNUITY, "50000.00", 60, LocalDate.of(2024, 1, 15));
+        loan.setRevision(1);
+        ScheduleColumns contract = repaymentScheduleService.calculateScheduleAmounts(loan);
+        RateReset reset = RateReset.builder()
+                .loanId(loan.getId())
+                .revision(1)
+                .referenceRateId(UUID.randomUUID())
+                .resetDate(LocalDate.of(2025, 1, 1))
+                .annualInterestRate(new BigDecimal("9.50"))
+                .installmentIndex(12)
+                .balanceAfter(ScheduleColumns.toAmount(contract.getRemainingBalance(11)))
+                .remainingMonths(48)
+                .build();
+        when(loanRepository.streamStartingOnOrBefore(any())).thenReturn(Stream.of(loan));
+        when(rateResetRepository.findByLoanIdIn(List.of(loan.getId()))).thenReturn(List.of(reset));
+
+        // When
+        CashflowAccumulator projection = service.project(from, to);
+
+        // Then
+        ScheduleColumns expected = segmentedScheduleService.getSchedule(loan, List.of(reset));
+        assertThat(projection.getLoanCount()).isEqualTo(1);
+        for (int offset = 0; offset < 60; offset++) {
+            assertThat(projection.getPrincipal(offset)).as("principal at %d", offset)
+                    .isEqualTo(expected.getPrincipal(offset));
+            assertThat(projection.getInterest(offset)).as("interest at %d", offset)
+                    .isEqualTo(expected.getInterest(offset));
+        }
+        assertThat(projection.getInterest(11)).isEqualTo(contract.getInterest(11));
+        assertThat(projection.getInterest(12)).isGreaterThan(contract.getInterest(12));
+    }
+
+    @Test
+    @DisplayName("Should return an empty projection when there are no loans")
+    void shouldReturnEmptyProjection() {
+        when(loanRepository.streamStartingOnOrBefore(any())).thenReturn(Stream.empty());
+
+        CashflowAccumulator projection = service.project(YearMonth.of(2024, 1), YearMonth.of(2024, 1));
+
+        assertThat(projection.getLoanCount()).isZero();
+        assertThat(projection.getPrincipal(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject inverted and oversized windows")
+    void shouldRejectInvalidWindow() {
+        assertThatThrownBy(() -> service.project(YearMonth.of(2024, 2), YearMonth.of(2024, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.project(YearMonth.of(2000, 1), YearMonth.of(2200, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, int periodMonths, LocalDate startDate) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("7.50"))
+                .scheduleType(scheduleType)
+                .startDate(startDate)
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.lhv.loanmanagement.portfolio.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.portfolio.model.StressAccumulator;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.lhv.loanmanagement.schedule.model.ScheduleColumns.toCents;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StressTestServiceTest {
+
+    private static final YearMonth FROM = YearMonth.of(2024, 6);
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PrepaymentRepository prepaymentRepository;
+
+    @Mock
+    private RateResetRepository rateResetRepository;
+
+    private RepaymentScheduleService repaymentScheduleService;
+    private StressTestService service;
+
+    @BeforeEach
+    void setUp() {
+        repaymentScheduleService = new RepaymentScheduleService(
+                List.of(new AnnuityScheduleCalculator(), new EqualPrincipalScheduleCalculator()), new ScheduleCache(10_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
+        SegmentedScheduleService segmentedScheduleService = new SegmentedScheduleService(prepaymentRepository,
+                rateResetRepository, repaymentScheduleService);
+        // Chunks of one loan so every result goes through the merge
+        service = new StressTestService(loanRepository, entityManager, segmentedScheduleService, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should project the unshocked base like the exact schedules up to rounding")
+    void shouldMatchExactSchedulesWithoutShock() {
+        // Given
+        List<Loan> loans = List.of(
+                createLoan(ScheduleType.ANNUITY, "10000.00", 24, LocalDate.of(2024, 1, 31), null),
+                createLoan(ScheduleType.EQUAL_PRINCIPAL, "5000.00", 6, LocalDate.of(2025, 3, 15), null),
+                createLoan(ScheduleType.ANNUITY, "2500.00", 3, LocalDate.of(2023, 1, 10), null));
+        when(loanRepository.streamAll()).thenReturn(loans.stream());
+
+        // When
+        List<StressAccumulator> results = service.stress(List.of(100), FROM, 12, false);
+
+        // Then
+        StressAccumulator base = results.get(0);
+        long[] expectedPrincipals = new long[12];
+        long[] expectedInterests = new long[12];
+        long expectedTotalInterest = 0;
+        for (Loan loan : loans) {
+            for (ScheduleItem item : repaymentScheduleService.calculateSchedule(loan)) {
+                YearMonth month = YearMonth.from(item.getPaymentDate());
+                if (month.isBefore(FROM)) {
+                    continue;
+                }
+                expectedTotalInterest += toCents(item.getInterest());
+                if (month.isBefore(FROM.plusMonths(12))) {
+                    int offset = (int) FROM.until(month, ChronoUnit.MONTHS);
+                    expectedPrincipals[offset] += toCents(item.getPrincipal());
+                    expectedInterests[offset] += toCents(item.getInterest());
+                }
+            }
+        }
+        assertThat(base.getShockBasisPoints()).isZero();
+        assertThat(base.getCashflows().getLoanCount()).isEqualTo(2);
+        assertThat(base.getTotalInterest()).isCloseTo(expectedTotalInterest, within(10L));
+        for (int offset = 0; offset < 12; offset++) {
+            assertThat(base.getCashflows().getPrincipal(offset)).as("principal at %d", offset)
+                    .isCloseTo(expectedPrincipals[offset], within(2L));
+            assertThat(base.getCashflows().getInterest(offset)).as("interest at %d", offset)
+                    .isCloseTo(expectedInterests[offset], within(2L));
+        }
+        assertThat(base.getPaymentChangeCount(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should raise interest and payments under positive shocks and lower them under negative ones")
+    void shouldApplyShocks() {
+        // Given
+        List<Loan> loans = List.of(
+                createLoan(ScheduleType.ANNUITY, "100000.00", 360, LocalDate.of(2020, 1, 15), null),
+                createLoan(ScheduleType.EQUAL_PRINCIPAL, "50000.00", 120, LocalDate.of(2022, 5, 1), null));
+        when(loanRepository.streamAll()).thenReturn(loans.stream());
+
+        // When
+        List<StressAccumulator> results = service.stress(List.of(300, -200), FROM, 12, false);
+
+        // Then
+        StressAccumulator base = results.get(0);
+        StressAccumulator up = results.get(1);
+        StressAccumulator down = results.get(2);
+        assertThat(up.getShockBasisPoints()).isEqualTo(300);
+        assertThat(up.getTotalInterest()).isGreaterThan(base.getTotalInterest());
+        assertThat(down.getTotalInterest()).isLessThan(base.getTotalInterest());
+        assertThat(up.getCashflows().getInterest(0)).isGreaterThan(base.getCashflows().getInterest(0));
+        // 300bp on 7.5% lifts the mortgage payment by 20-30% and the equal principal one by 10-20%
+        assertThat(up.getPaymentChangeCount(3)).isEqualTo(1);
+        assertThat(up.getPaymentChangeCount(4)).isEqualTo(1);
+        assertThat(down.getPaymentChangeCount(0)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should leave fixed-rate loans unshocked when only variable-rate loans are stressed")
+    void shouldShockOnlyVariableRateLoans() {
+        // Given
+        Loan fixed = createLoan(ScheduleType.ANNUITY, "20000.00", 60, LocalDate.of(2023, 3, 10), null);
+        Loan variable = createLoan(ScheduleType.ANNUITY, "20000.00", 60, LocalDate.of(2023, 3, 10), "EURIBOR_6M");
+        variable.setMargin(new BigDecimal("3.50"));
+        when(loanRepository.streamAll()).thenReturn(List.of(fixed, variable).stream());
+
+        // When
+        List<StressAccumulator> results = service.stress(List.of(100), FROM, 12, true);
+
+        // Then
+        StressAccumulator base = results.get(0);
+        StressAccumulator shocked = results.get(1);
+        long interestDelta = shocked.getTotalInterest() - base.getTotalInterest();
+        assertThat(interestDelta).isPositive();
+        assertThat(shocked.getPaymentChangeCount(1)).isEqualTo(2);
+        // Doubling the variable-rate portfolio doubles the delta if the fixed-rate loan is left alone
+        when(loanRepository.streamAll()).thenReturn(List.of(variable, variable).stream());
+        List<StressAccumulator> variableOnly = service.stress(List.of(100), FROM, 12, true);
+        assertThat(variableOnly.get(1).getTotalInterest() - variableOnly.get(0).getTotalInterest())
+                .isCloseTo(2 * interestDelta, within(2L));
+    }
+
+    @Test
+    @DisplayName("Should skip loans repaid before the window")
+    void shouldSkipRepaidLoans() {
+        when(loanRepository.streamAll()).thenReturn(
+                List.of(createLoan(ScheduleType.ANNUITY, "1000.00", 3, LocalDate.of(2020, 1, 1), null)).stream());
+
+        List<StressAccumulator> results = service.stress(List.of(100), FROM, 12, false);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(1).getCashflows().getLoanCount()).isZero();
+        assertThat(results.get(1).getTotalInterest()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject missing, excessive and out of range shocks")
+    void shouldRejectInvalidShocks() {
+        assertThatThrownBy(() -> service.stress(List.of(), FROM, 12, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.stress(Collections.nCopies(StressTestService.MAX_SCENARIOS + 1, 100),
+                FROM, 12, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.stress(List.of(StressTestService.MAX_SHOCK_BASIS_POINTS + 1), FROM, 12, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.stress(List.of(100), FROM, 0, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, int periodMonths, LocalDate startDate,
+                            String referenceIndex) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("7.50"))
+                .scheduleType(scheduleType)
+                .startDate(startDate)
+                .referenceIndex(referenceIndex)
+                .build();
+    }
+}
@@ -0,0 +1,266 @@
+package com.lhv.loanmanagement.prepayment.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanChangedEvent;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.prepayment.Prepayment;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.prepayment.dto.CreatePrepaymentRequest;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentAdjustment;
+import com.lhv.loanmanagement.prepayment.enums.PrepaymentType;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrepaymentServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private PrepaymentRepository prepaymentRepository;
+
+    @Mock
+    private RateResetRepository rateResetRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Prepayment> prepayments = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RepaymentScheduleService repaymentScheduleService;
+    private SegmentedScheduleService segmentedScheduleService;
+    private PrepaymentService service;
+
+    @BeforeEach
+    void setUp() {
+        repaymentScheduleService = new RepaymentScheduleService(
+                List.of(new AnnuityScheduleCalculator(), new EqualPrincipalScheduleCalculator()),
+                new ScheduleCache(100_000), new ScheduleCalculationMetrics(meterRegistry));
+        segmentedScheduleService = new SegmentedScheduleService(prepaymentRepository, rateResetRepository,
+                repaymentScheduleService);
+        service = new PrepaymentService(loanRepository, prepaymentRepository, segmentedScheduleService,
+                eventPublisher);
+        lenient().when(prepaymentRepository.findByLoanIdOrderBySequenceNumber(any()))
+                .thenAnswer(invocation -> List.copyOf(prepayments));
+        lenient().when(prepaymentRepository.save(any())).thenAnswer(invocation -> {
+            Prepayment prepayment = invocation.getArgument(0);
+            prepayments.add(prepayment);
+            return prepayment;
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep the schedule before a prepayment and lower the payment after it")
+    void shouldReducePayment() {
+        // Given
+        Loan loan = createLoan(ScheduleType.ANNUITY, 120);
+        ScheduleColumns original = repaymentScheduleService.calculateScheduleColumns(loan);
+
+        // When
+        Prepayment prepayment = service.record(loan.getId(), partial(LocalDate.of(2025, 3, 20), "20000.00",
+                PrepaymentAdjustment.REDUCE_PAYMENT));
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(prepayment.getInstallmentIndex()).isEqualTo(15);
+        assertThat(prepayment.getRemainingMonths()).isEqualTo(105);
+        assertThat(schedule.size()).isEqualTo(120);
+        assertThat(schedule.asItems().subList(0, 15)).isEqualTo(original.asItems().subList(0, 15));
+        assertThat(schedule.getPayment(15)).isLessThan(original.getPayment(15));
+        assertThat(schedule.getPaymentDate(119)).isEqualTo(original.getPaymentDate(119));
+        assertRepaid(loan, schedule);
+        assertThat(loan.getRevision()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(new LoanChangedEvent(loan.getId()));
+    }
+
+    @Test
+    @DisplayName("Should shorten the term and keep the payment when reducing the term")
+    void shouldReduceTerm() {
+        // Given
+        Loan loan = createLoan(ScheduleType.ANNUITY, 120);
+        ScheduleColumns original = repaymentScheduleService.calculateScheduleColumns(loan);
+
+        // When
+        service.record(loan.getId(), partial(LocalDate.of(2024, 6, 15), "30000.00",
+                PrepaymentAdjustment.REDUCE_TERM));
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(schedule.size()).isLessThan(120);
+        assertThat(schedule.getPayment(6)).isLessThanOrEqualTo(original.getPayment(6));
+        assertThat(original.getPayment(6) - schedule.getPayment(6)).isLessThan(original.getPayment(6) / 10);
+        assertRepaid(loan, schedule);
+    }
+
+    @Test
+    @DisplayName("Should apply consecutive prepayments on equal principal loans")
+    void shouldApplyConsecutivePrepayments() {
+        // Given
+        Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL, 60);
+
+        // When
+        service.record(loan.getId(), partial(LocalDate.of(2024, 3, 1), "10000.00",
+                PrepaymentAdjustment.REDUCE_TERM));
+        ScheduleColumns afterFirst = segmentedScheduleService.getSchedule(loan);
+        service.record(loan.getId(), partial(LocalDate.of(2025, 1, 15), "5000.00",
+                PrepaymentAdjustment.REDUCE_PAYMENT));
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(prepayments).extracting(Prepayment::getSequenceNumber).containsExactly(1, 2);
+        assertThat(schedule.asItems().subList(0, 13)).isEqualTo(afterFirst.asItems().subList(0, 13));
+        assertThat(schedule.size()).isEqualTo(afterFirst.size());
+        assertRepaid(loan, schedule);
+    }
+
+    @Test
+    @DisplayName("Should end the schedule at a full prepayment and accept no further prepayments")
+    void shouldRepayInFull() {
+        // Given
+        Loan loan = createLoan(ScheduleType.ANNUITY, 120);
+        ScheduleColumns original = repaymentScheduleService.calculateScheduleColumns(loan);
+        CreatePrepaymentRequest full = CreatePrepaymentRequest.builder()
+                .prepaymentDate(LocalDate.of(2026, 1, 14))
+                .prepaymentType(PrepaymentType.FULL)
+                .build();
+
+        // When
+        Prepayment prepayment = service.record(loan.getId(), full);
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(schedule.size()).isEqualTo(24);
+        assertThat(schedule.asItems()).isEqualTo(original.asItems().subList(0, 24));
+        assertThat(prepayment.getAmount()).isCloseTo(ScheduleColumns.toAmount(original.getRemainingBalance(23)),
+                within(new BigDecimal("1.00")));
+        assertRepaid(loan, schedule);
+        assertThatThrownBy(() -> service.record(loan.getId(), partial(LocalDate.of(2026, 2, 1), "100.00",
+                PrepaymentAdjustment.REDUCE_TERM)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should calculate each installment once however many prepayments precede it")
+    void shouldCalculateRowsIndependentOfPrepayments() {
+        // Given
+        Loan loan = createLoan(ScheduleType.ANNUITY, 120);
+        for (int month = 0; month < 10; month++) {
+            service.record(loan.getId(), partial(LocalDate.of(2024, 3, 20).plusMonths(month), "1000.00",
+                    PrepaymentAdjustment.REDUCE_PAYMENT));
+        }
+        double rowsBefore = calculatedRows();
+
+        // When
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(schedule.size()).isEqualTo(120);
+        assertThat(calculatedRows() - rowsBefore).isEqualTo(120);
+        assertRepaid(loan, schedule);
+    }
+
+    @Test
+    @DisplayName("Should reject backdated and oversized prepayments")
+    void shouldRejectInvalidPrepayments() {
+        // Given
+        Loan loan = createLoan(ScheduleType.ANNUITY, 120);
+        service.record(loan.getId(), partial(LocalDate.of(2025, 3, 20), "1000.00",
+                PrepaymentAdjustment.REDUCE_TERM));
+
+        // When / Then
+        assertThatThrownBy(() -> service.record(loan.getId(), partial(LocalDate.of(2025, 3, 19), "1000.00",
+                PrepaymentAdjustment.REDUCE_TERM)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.record(loan.getId(), partial(LocalDate.of(2025, 4, 1), "100000.00",
+                PrepaymentAdjustment.REDUCE_TERM)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.record(loan.getId(), partial(LocalDate.of(2025, 4, 1), "1000.00", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(prepayments).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count the installments due on or before a date")
+    void shouldCountInstallmentsDue() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        assertThat(ScheduleColumns.installmentsDueOnOrBefore(start, LocalDate.of(2024, 1, 30))).isZero();
+        assertThat(ScheduleColumns.installmentsDueOnOrBefore(start, LocalDate.of(2024, 1, 31))).isEqualTo(1);
+        assertThat(ScheduleColumns.installmentsDueOnOrBefore(start, LocalDate.of(2024, 2, 29))).isEqualTo(2);
+        assertThat(ScheduleColumns.installmentsDueOnOrBefore(start, LocalDate.of(2024, 3, 28))).isEqualTo(2);
+        assertThat(ScheduleColumns.installmentsDueOnOrBefore(start, LocalDate.of(2024, 3, 29))).isEqualTo(3);
+    }
+
+    private double calculatedRows() {
+        return meterRegistry.find("loan.schedule.rows").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private void assertRepaid(Loan loan, ScheduleColumns schedule) {
+        long principal = prepayments.stream().mapToLong(prepayment -> ScheduleColumns.toCents(prepayment.getAmount()))
+                .sum();
+        for (int index = 0; index < schedule.size(); index++) {
+            principal += schedule.getPrincipal(index);
+        }
+        assertThat(principal).isEqualTo(ScheduleColumns.toCents(loan.getAmount()));
+        if (prepayments.get(prepayments.size() - 1).getPrepaymentType() == PrepaymentType.PARTIAL) {
+            assertThat(schedule.getRemainingBalance(schedule.size() - 1)).isZero();
+        }
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, int periodMonths) {
+        Loan loan = Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal("100000.00"))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("4.50"))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+        when(loanRepository.findByIdForUpdate(loan.getId())).thenReturn(Optional.of(loan));
+        return loan;
+    }
+
+    private static CreatePrepaymentRequest partial(LocalDate date, String amount, PrepaymentAdjustment adjustment) {
+        return CreatePrepaymentRequest.builder()
+                .prepaymentDate(date)
+                .prepaymentType(PrepaymentType.PARTIAL)
+                .amount(new BigDecimal(amount))
+                .adjustment(adjustment)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.lhv.loanmanagement.quote.service;
+
+import com.lhv.loanmanagement.schedule.calculator.CompoundFactorTable;
+import com.lhv.loanmanagement.schedule.calculator.RateSheetCalculator;
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateSheetServiceTest {
+
+    private final RateSheetService service = new RateSheetService(new RateSheetCalculator(new CompoundFactorTable()));
+
+    @Test
+    @DisplayName("Should expand the rate range in 0.01 steps")
+    void shouldExpandRateRange() {
+        RateSheet sheet = service.calculate(new BigDecimal("4.98"), new BigDecimal("5.02"), List.of(12, 60),
+                List.of(new BigDecimal("1000.00")));
+
+        assertThat(sheet.annualInterestRates()).extracting(BigDecimal::toPlainString)
+                .containsExactly("4.98", "4.99", "5.00", "5.01", "5.02");
+        assertThat(sheet.annuityPayments()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Should reject rates outside the stored domain and oversized sheets")
+    void shouldRejectInvalidSheets() {
+        List<BigDecimal> amounts = List.of(new BigDecimal("1000.00"));
+
+        assertThatThrownBy(() -> service.calculate(BigDecimal.ZERO, BigDecimal.ONE, List.of(12), amounts))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculate(new BigDecimal("1.005"), BigDecimal.ONE, List.of(12), amounts))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculate(BigDecimal.TEN, BigDecimal.ONE, List.of(12), amounts))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculate(BigDecimal.ONE, BigDecimal.TEN, List.of(0), amounts))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculate(new BigDecimal("0.01"), new BigDecimal("100.00"), List.of(12),
+                Collections.nCopies(101, new BigDecimal("1000.00"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cells");
+    }
+}
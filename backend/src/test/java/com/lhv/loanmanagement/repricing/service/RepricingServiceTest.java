@@ -0,0 +1,384 @@
+package com.lhv.loanmanagement.repricing.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.LoansChangedEvent;
+import com.lhv.loanmanagement.loan.ScheduleSegment;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.prepayment.PrepaymentRepository;
+import com.lhv.loanmanagement.repricing.RateReset;
+import com.lhv.loanmanagement.repricing.RateResetRepository;
+import com.lhv.loanmanagement.repricing.ReferenceRate;
+import com.lhv.loanmanagement.repricing.ReferenceRateRepository;
+import com.lhv.loanmanagement.repricing.RepricingJob;
+import com.lhv.loanmanagement.repricing.RepricingJobRepository;
+import com.lhv.loanmanagement.repricing.RepricingJobStartedEvent;
+import com.lhv.loanmanagement.repricing.dto.CreateReferenceRateRequest;
+import com.lhv.loanmanagement.repricing.enums.RepricingJobStatus;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepricingServiceTest {
+
+    private static final String INDEX = "EURIBOR_6M";
+
+    @Mock
+    private ReferenceRateRepository referenceRateRepository;
+
+    @Mock
+    private RepricingJobRepository repricingJobRepository;
+
+    @Mock
+    private RateResetRepository rateResetRepository;
+
+    @Mock
+    private PrepaymentRepository prepaymentRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RepaymentScheduleService repaymentScheduleService;
+    private SegmentedScheduleService segmentedScheduleService;
+    private RepricingService service;
+    private ReferenceRate rate;
+
+    @BeforeEach
+    void setUp() {
+        repaymentScheduleService = new RepaymentScheduleService(
+                List.of(new AnnuityScheduleCalculator(), new EqualPrincipalScheduleCalculator()),
+                new ScheduleCache(100_000), new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
+        segmentedScheduleService = new SegmentedScheduleService(prepaymentRepository, rateResetRepository,
+                repaymentScheduleService);
+        service = new RepricingService(referenceRateRepository, repricingJobRepository, rateResetRepository,
+                loanRepository, segmentedScheduleService, eventPublisher,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SyncTaskExecutor(), 2, 2,
+                Duration.ofMinutes(5));
+        rate = ReferenceRate.builder()
+                .id(UUID.randomUUID())
+                .indexName(INDEX)
+                .effectiveDate(LocalDate.of(2025, 1, 10))
+                .rate(new BigDecimal("3.2500"))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reset the rate from the first installment after the effective date and keep earlier ones")
+    void shouldRepriceFromEffectiveDate() {
+        // Given
+        Loan loan = createLoan(LocalDate.of(2024, 1, 15));
+        ScheduleColumns original = repaymentScheduleService.calculateScheduleColumns(loan);
+
+        // When
+        RateReset reset = service.reprice(loan, List.of(), rate);
+        when(rateResetRepository.findByLoanId(loan.getId())).thenReturn(List.of(reset));
+        ScheduleColumns schedule = segmentedScheduleService.getSchedule(loan);
+
+        // Then
+        assertThat(reset.getAnnualInterestRate()).isEqualByComparingTo("4.75");
+        assertThat(reset.getInstallmentIndex()).isEqualTo(12);
+        assertThat(reset.getRemainingMonths()).isEqualTo(108);
+        assertThat(reset.getRevision()).isEqualTo(1);
+        assertThat(schedule.size()).isEqualTo(120);
+        assertThat(schedule.asItems().subList(0, 12)).isEqualTo(original.asItems().subList(0, 12));
+        assertThat(schedule.getInterest(12)).isGreaterThan(original.getInterest(12));
+        assertThat(schedule.getPaymentDate(119)).isEqualTo(original.getPaymentDate(119));
+        long principal = 0;
+        for (int index = 0; index < schedule.size(); index++) {
+            principal += schedule.getPrincipal(index);
+        }
+        assertThat(principal).isEqualTo(ScheduleColumns.toCents(loan.getAmount()));
+        assertThat(schedule.getRemainingBalance(119)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave loans starting after the reset, already repriced or at an unchanged rate")
+    void shouldSkipUnaffectedLoans() {
+        // Given
+        Loan later = createLoan(LocalDate.of(2025, 2, 1));
+        Loan unchanged = createLoan(LocalDate.of(2024, 1, 15));
+        unchanged.setAnnualInterestRate(new BigDecimal("4.75"));
+        Loan repriced = createLoan(LocalDate.of(2024, 1, 15));
+        List<ScheduleSegment> segments = List.of(service.reprice(repriced, List.of(), rate));
+
+        // When / Then
+        assertThat(service.reprice(later, List.of(), rate)).isNull();
+        assertThat(service.reprice(unchanged, List.of(), rate)).isNull();
+        assertThat(service.reprice(repriced, segments, rate)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reprice in chunks, checkpointing the job after each one")
+    void shouldRunInChunks() {
+        // Given
+        List<Loan> loans = List.of(createLoan(LocalDate.of(2024, 1, 15)), createLoan(LocalDate.of(2023, 6, 30)),
+                createLoan(LocalDate.of(2025, 3, 1)));
+        RepricingJob job = createJob(null);
+        stubChunks(loans);
+
+        // When
+        start(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(RepricingJobStatus.COMPLETED);
+        assertThat(job.getOwnerId()).isNull();
+        assertThat(job.getProcessedLoans()).isEqualTo(3);
+        assertThat(job.getRepricedLoans()).isEqualTo(2);
+        assertThat(job.getLastLoanId()).isEqualTo(loans.get(2).getId());
+        assertThat(loans).extracting(Loan::getRevision).containsExactly(1, 1, 0);
+        assertThat(loans).extracting(Loan::getCurrentInterestRate)
+                .containsExactly(new BigDecimal("4.75"), new BigDecimal("4.75"), null);
+        assertThat(loans).extracting(Loan::getAnnualInterestRate).containsOnly(new BigDecimal("4.50"));
+        verify(rateResetRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher).publishEvent(
+                new LoansChangedEvent(List.of(loans.get(0).getId(), loans.get(1).getId())));
+    }
+
+    @Test
+    @DisplayName("Should continue a restarted job after its checkpoint")
+    void shouldResumeFromCheckpoint() {
+        // Given
+        List<Loan> loans = List.of(createLoan(LocalDate.of(2024, 1, 15)), createLoan(LocalDate.of(2023, 6, 30)),
+                createLoan(LocalDate.of(2024, 5, 20)));
+        RepricingJob job = createJob(loans.get(1).getId());
+        job.setProcessedLoans(2);
+        job.setRepricedLoans(2);
+        stubChunks(loans);
+
+        // When
+        start(job);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RateReset>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rateResetRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(RateReset::getLoanId).containsExactly(loans.get(2).getId());
+        assertThat(job.getStatus()).isEqualTo(RepricingJobStatus.COMPLETED);
+        assertThat(job.getProcessedLoans()).isEqualTo(3);
+        assertThat(job.getRepricedLoans()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should mark the job failed and keep the checkpoint of the last written chunk")
+    void shouldFailWithoutAdvancingCheckpoint() {
+        // Given
+        List<Loan> loans = List.of(createLoan(LocalDate.of(2024, 1, 15)));
+        RepricingJob job = createJob(null);
+        stubChunks(loans);
+        when(rateResetRepository.saveAll(anyList())).thenThrow(new IllegalStateException("Connection lost"));
+
+        // When
+        start(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(RepricingJobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("Connection lost");
+        assertThat(job.getLastLoanId()).isNull();
+        assertThat(job.getProcessedLoans()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not lay an older rate over a newer reset when the older job runs again")
+    void shouldNotRepriceOverNewerReset() {
+        // Given: the newer value is applied first
+        Loan loan = createLoan(LocalDate.of(2024, 1, 15));
+        ReferenceRate newer = ReferenceRate.builder()
+                .id(UUID.randomUUID())
+                .indexName(INDEX)
+                .effectiveDate(LocalDate.of(2025, 7, 10))
+                .rate(new BigDecimal("4.0000"))
+                .build();
+        RepricingJob newerJob = createJob(newer, null);
+        RepricingJob olderJob = createJob(rate, null);
+        stubChunks(List.of(loan));
+        start(newerJob);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RateReset>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rateResetRepository).saveAll(captor.capture());
+        when(rateResetRepository.findByLoanIdIn(any())).thenReturn(List.copyOf(captor.getValue()));
+        when(referenceRateRepository.findFirstByIndexNameOrderByEffectiveDateDesc(INDEX))
+                .thenReturn(Optional.of(newer));
+
+        // When: the older job runs again, e.g. restarted after an outage, and fails afterwards
+        start(olderJob);
+        olderJob.setStatus(RepricingJobStatus.FAILED);
+
+        // Then
+        assertThatThrownBy(() -> service.resume(olderJob.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("superseded");
+        verify(rateResetRepository, times(1)).saveAll(anyList());
+        assertThat(loan.getRevision()).isEqualTo(1);
+        assertThat(loan.getCurrentInterestRate()).isEqualByComparingTo("5.50");
+    }
+
+    @Test
+    @DisplayName("Should not publish a value while a job of the same index is running")
+    void shouldRejectPublishWhileJobRuns() {
+        // Given
+        RepricingJob running = createJob(null);
+        when(repricingJobRepository.findByIndexNameAndStatus(INDEX, RepricingJobStatus.RUNNING))
+                .thenReturn(List.of(running));
+        CreateReferenceRateRequest request = CreateReferenceRateRequest.builder()
+                .indexName(INDEX)
+                .effectiveDate(LocalDate.of(2025, 7, 10))
+                .rate(new BigDecimal("4.0000"))
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> service.publish(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("still running");
+        verify(referenceRateRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should leave a job claimed by another node to that node")
+    void shouldNotRunJobClaimedElsewhere() {
+        // Given
+        RepricingJob job = createJob(null);
+        job.setOwnerId(UUID.randomUUID());
+
+        // When
+        start(job);
+
+        // Then
+        verify(loanRepository, never()).findByReferenceIndexAfter(any(), any(), any());
+        assertThat(job.getStatus()).isEqualTo(RepricingJobStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("Should stop without writing once another node has taken the job over")
+    void shouldStopAfterLosingClaim() {
+        // Given
+        List<Loan> loans = List.of(createLoan(LocalDate.of(2024, 1, 15)), createLoan(LocalDate.of(2023, 6, 30)));
+        RepricingJob job = createJob(null);
+        stubChunks(loans);
+        UUID otherNode = UUID.randomUUID();
+        when(repricingJobRepository.claim(eq(job.getId()), any(), any(), any(), any())).thenAnswer(invocation -> {
+            // The claim succeeds, but another node takes the job over before the first chunk is written
+            job.setOwnerId(otherNode);
+            return 1;
+        });
+
+        // When
+        start(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(RepricingJobStatus.RUNNING);
+        assertThat(job.getOwnerId()).isEqualTo(otherNode);
+        assertThat(job.getProcessedLoans()).isZero();
+        verify(rateResetRepository, never()).saveAll(anyList());
+    }
+
+    private void start(RepricingJob job) {
+        service.onJobStarted(new RepricingJobStartedEvent(job.getId()));
+    }
+
+    private void stubChunks(List<Loan> loans) {
+        when(loanRepository.findByReferenceIndexAfter(eq(INDEX), any(), any())).thenAnswer(invocation -> {
+            UUID after = invocation.getArgument(1);
+            // Loans after the checkpoint, two per chunk
+            int from = 0;
+            for (int index = 0; index < loans.size(); index++) {
+                if (loans.get(index).getId().equals(after)) {
+                    from = index + 1;
+                }
+            }
+            return loans.subList(from, Math.min(from + 2, loans.size()));
+        });
+        lenient().when(loanRepository.findAllByIdForUpdate(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return new ArrayList<>(loans.stream().filter(loan -> ids.contains(loan.getId())).toList());
+        });
+    }
+
+    private RepricingJob createJob(UUID lastLoanId) {
+        return createJob(rate, lastLoanId);
+    }
+
+    private RepricingJob createJob(ReferenceRate rate, UUID lastLoanId) {
+        RepricingJob job = RepricingJob.builder()
+                .id(UUID.randomUUID())
+                .referenceRateId(rate.getId())
+                .status(RepricingJobStatus.RUNNING)
+                .lastLoanId(lastLoanId)
+                .totalLoans(3)
+                .build();
+        lenient().when(repricingJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        lenient().when(repricingJobRepository.findByIdForUpdate(job.getId())).thenReturn(Optional.of(job));
+        // Claims succeed unless another node owns the job
+        lenient().when(repricingJobRepository.claim(eq(job.getId()), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    if (job.getOwnerId() != null) {
+                        return 0;
+                    }
+                    job.setOwnerId(invocation.getArgument(1));
+                    return 1;
+                });
+        lenient().when(referenceRateRepository.findById(rate.getId())).thenReturn(Optional.of(rate));
+        return job;
+    }
+
+    private Loan createLoan(LocalDate startDate) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal("150000.00"))
+                .periodMonths(120)
+                .annualInterestRate(new BigDecimal("4.50"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(startDate)
+                .referenceIndex(INDEX)
+                .margin(new BigDecimal("1.50"))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.lhv.loanmanagement.schedule.arithmetic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedDecimalTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    @DisplayName("Should multiply exactly like BigDecimal with MATH_CONTEXT")
+    void shouldMultiplyLikeBigDecimal() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal a = randomDecimal();
+            BigDecimal b = randomDecimal();
+
+            long product = PackedDecimal.multiply(PackedDecimal.of(a), PackedDecimal.of(b));
+
+            assertThat(PackedDecimal.toBigDecimal(product))
+                    .as("%s * %s", a, b)
+                    .isEqualByComparingTo(a.multiply(b, MATH_CONTEXT));
+        }
+    }
+
+    @Test
+    @DisplayName("Should add and subtract exactly like BigDecimal with MATH_CONTEXT")
+    void shouldAddAndSubtractLikeBigDecimal() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal a = randomDecimal();
+            BigDecimal b = randomDecimal();
+
+            long sum = PackedDecimal.add(PackedDecimal.of(a), PackedDecimal.of(b));
+            long difference = PackedDecimal.subtract(PackedDecimal.of(a), PackedDecimal.of(b));
+
+            assertThat(PackedDecimal.toBigDecimal(sum))
+                    .as("%s + %s", a, b)
+                    .isEqualByComparingTo(a.add(b, MATH_CONTEXT));
+            assertThat(PackedDecimal.toBigDecimal(difference))
+                    .as("%s - %s", a, b)
+                    .isEqualByComparingTo(a.subtract(b, MATH_CONTEXT));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round to cents exactly like setScale with ROUNDING_MODE")
+    void shouldRoundToCentsLikeSetScale() {
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal value = randomDecimal();
+
+            long cents = PackedDecimal.toCents(PackedDecimal.of(value));
+
+            assertThat(BigDecimal.valueOf(cents, RESULT_SCALE))
+                    .as("%s", value)
+                    .isEqualTo(value.setScale(RESULT_SCALE, ROUNDING_MODE));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round half up on exact ties")
+    void shouldRoundHalfUpOnTies() {
+        long value = PackedDecimal.of(new BigDecimal("1234567890.125"));
+
+        assertThat(PackedDecimal.toCents(value)).isEqualTo(123456789013L);
+        assertThat(PackedDecimal.toCents(PackedDecimal.negate(value))).isEqualTo(-123456789013L);
+        assertThat(PackedDecimal.toBigDecimal(PackedDecimal.add(PackedDecimal.of(new BigDecimal("99999999999.95")), PackedDecimal.ZERO)))
+                .isEqualByComparingTo("100000000000.0");
+    }
+
+    @Test
+    @DisplayName("Should reject values outside the packed range")
+    void shouldRejectValuesOutsideRange() {
+        assertThatThrownBy(() -> PackedDecimal.of(new BigDecimal("123456789012345678.91")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private BigDecimal randomDecimal() {
+        int digits = 1 + random.nextInt(15);
+        long unscaled = (long) (random.nextDouble() * Math.pow(10, digits));
+        int scale = random.nextInt(15);
+        BigDecimal value = BigDecimal.valueOf(random.nextBoolean() ? unscaled : -unscaled, scale);
+        return random.nextInt(4) == 0 ? value.round(MATH_CONTEXT) : value;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -201,4 +202,52 @@ class AnnuityScheduleCalculatorTest {
         ScheduleItem lastPayment = schedule.get(schedule.size() - 1);
         assertThat(lastPayment.getRemainingBalance()).isEqualByComparingTo(BigDecimal.ZERO);
     }
+
+    @Test
+    @DisplayName("Should calculate installments directly exactly as in the full schedule")
+    void shouldCalculateInstallmentsMatchingFullSchedule() {
+        List<Loan> loans = List.of(
+                createLoan("10000.00", 12, "5.00"),
+                createLoan("1000.01", 7, "24.99"),
+                createLoan("250000.00", 360, "7.50"),
+                createLoan("350000.00", 360, "4.35"),
+                createLoan("50000.00", 84, "29.99"));
+
+        for (Loan loan : loans) {
+            List<ScheduleItem> schedule = calculator.calculate(loan);
+            int direct = 0;
+            for (int index = 0; index < schedule.size(); index++) {
+                Optional<ScheduleItem> installment = calculator.calculateInstallment(loan, index);
+                if (installment.isPresent()) {
+                    assertThat(installment.get()).as("installment %d of %s", index, loan.getAmount())
+                            .isEqualTo(schedule.get(index));
+                    direct++;
+                }
+            }
+            // Only the last installment and roundings too close to call within the error bound fall back
+            assertThat(calculator.calculateInstallment(loan, schedule.size() - 1)).isEmpty();
+            assertThat(direct).as("direct installments of %s", loan.getAmount())
+                    .isGreaterThanOrEqualTo(schedule.size() * 3 / 4);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not calculate installments directly when balances exceed exact precision")
+    void shouldNotCalculateInstallmentForLargeAmounts() {
+        Loan loan = createLoan("9999999999.99", 600, "99.99");
+
+        assertThat(calculator.calculateInstallment(loan, 5)).isEmpty();
+    }
+
+    private Loan createLoan(String amount, int periodMonths, String annualInterestRate) {
+        return Loan.builder()
+                .id(java.util.UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(annualInterestRate))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
 }
@@ -0,0 +1,114 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AprCalculatorTest {
+
+    private final AprCalculator calculator = new AprCalculator();
+    private final AnnuityScheduleCalculator annuityCalculator = new AnnuityScheduleCalculator();
+    private final EqualPrincipalScheduleCalculator equalPrincipalCalculator = new EqualPrincipalScheduleCalculator();
+
+    @Test
+    @DisplayName("Should return the effective annual rate of the nominal rate for schedules without fees")
+    void shouldMatchEffectiveAnnualRate() {
+        // Given
+        Loan consumer = createLoan(ScheduleType.ANNUITY, "10000.00", 12, "5.00");
+        Loan mortgage = createLoan(ScheduleType.ANNUITY, "250000.00", 360, "7.50");
+        Loan equalPrincipal = createLoan(ScheduleType.EQUAL_PRINCIPAL, "1200.00", 12, "6.00");
+
+        // When
+        BigDecimal consumerApr = calculator.calculate(consumer.getAmount(),
+                annuityCalculator.calculateColumns(consumer), consumer.getAnnualInterestRate());
+        BigDecimal mortgageApr = calculator.calculate(mortgage.getAmount(),
+                annuityCalculator.calculateColumns(mortgage), mortgage.getAnnualInterestRate());
+        BigDecimal equalPrincipalApr = calculator.calculate(equalPrincipal.getAmount(),
+                equalPrincipalCalculator.calculateColumns(equalPrincipal), equalPrincipal.getAnnualInterestRate());
+
+        // Then
+        assertThat(consumerApr).isEqualTo(new BigDecimal("5.12"));
+        assertThat(mortgageApr).isEqualTo(new BigDecimal("7.76"));
+        assertThat(equalPrincipalApr).isEqualTo(new BigDecimal("6.17"));
+        assertThat(AprCalculator.effectiveAnnualRate(new BigDecimal("5.00"))).isEqualTo(new BigDecimal("5.12"));
+        assertThat(AprCalculator.effectiveAnnualRate(new BigDecimal("7.50"))).isEqualTo(new BigDecimal("7.76"));
+    }
+
+    @Test
+    @DisplayName("Should converge from a seed far from the root")
+    void shouldSolveCashflowsFarFromNominalRate() {
+        // Given: 1000.00 paid out against 1100.00 a month later, 10% a month
+        ScheduleColumns schedule = new ScheduleColumns(1);
+        schedule.add(LocalDate.of(2024, 2, 1), 110_000, 100_000, 10_000, 0);
+
+        // When
+        BigDecimal apr = calculator.calculate(new BigDecimal("1000.00"), schedule, BigDecimal.ZERO);
+
+        // Then: 1.1^12 - 1 = 213.8428...%
+        assertThat(AprCalculator.solve(100_000, schedule, 0)).isCloseTo(0.1, within(1e-12));
+        assertThat(apr).isEqualTo(new BigDecimal("213.84"));
+    }
+
+    @Test
+    @DisplayName("Should derive the monthly discount factor to full decimal precision")
+    void shouldCalculateMonthlyDiscountPrecisely() {
+        // Given
+        BigDecimal annualPercent = new BigDecimal("7.765");
+
+        // When
+        BigDecimal discount = AprCalculator.monthlyDiscount(annualPercent);
+
+        // Then: discounting twelve months undoes a year of growth
+        BigDecimal year = discount.pow(12, MathContext.DECIMAL128)
+                .multiply(new BigDecimal("1.07765"), MathContext.DECIMAL128);
+        assertThat(year.subtract(BigDecimal.ONE).abs()).isLessThan(new BigDecimal("1e-32"));
+        assertThat(AprCalculator.monthlyDiscount(BigDecimal.ZERO)).isEqualByComparingTo(BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("Should return zero for interest-free loans")
+    void shouldReturnZeroForInterestFreeLoans() {
+        Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL, "1000.00", 7, "0");
+
+        BigDecimal apr = calculator.calculate(loan.getAmount(), equalPrincipalCalculator.calculateColumns(loan),
+                loan.getAnnualInterestRate());
+
+        assertThat(apr).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should reject empty schedules and non-positive amounts")
+    void shouldRejectInvalidInput() {
+        ScheduleColumns schedule = new ScheduleColumns(1);
+        schedule.add(LocalDate.of(2024, 2, 1), 100, 100, 0, 0);
+
+        assertThatThrownBy(() -> calculator.calculate(BigDecimal.ONE, new ScheduleColumns(0), BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calculator.calculate(BigDecimal.ZERO, schedule, BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, int periodMonths, String annualInterestRate) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(annualInterestRate))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.MATH_CONTEXT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompoundFactorTableTest {
+
+    private final CompoundFactorTable table = new CompoundFactorTable(120, List.of(), List.of());
+
+    @Test
+    @DisplayName("Should return the same factors as computing them directly")
+    void shouldMatchDirectComputation() {
+        for (int basisPoints = 0; basisPoints <= CompoundFactorTable.MAX_BASIS_POINTS; basisPoints += 37) {
+            BigDecimal annualRate = BigDecimal.valueOf(basisPoints, 2);
+            BigDecimal monthlyRate = AbstractScheduleCalculator.monthlyRate(annualRate);
+            assertThat(table.monthlyRate(annualRate)).isEqualByComparingTo(monthlyRate);
+
+            for (int term : new int[]{1, 12, 119, 120, 121, 360}) {
+                BigDecimal expected = BigDecimal.ONE.add(monthlyRate, MATH_CONTEXT).pow(term, MATH_CONTEXT);
+                // Twice: the first call fills the entry, the second reads it
+                assertThat(table.compoundFactor(annualRate, term)).isEqualByComparingTo(expected);
+                assertThat(table.compoundFactor(annualRate, term)).isEqualByComparingTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat rates with trailing zeros as table rates and compute other rates directly")
+    void shouldHandleRateScales() {
+        assertThat(table.compoundFactor(new BigDecimal("5"), 60))
+                .isSameAs(table.compoundFactor(new BigDecimal("5.000"), 60));
+
+        BigDecimal oddRate = new BigDecimal("5.125");
+        BigDecimal expected = BigDecimal.ONE.add(AbstractScheduleCalculator.monthlyRate(oddRate), MATH_CONTEXT)
+                .pow(60, MATH_CONTEXT);
+        assertThat(table.compoundFactor(oddRate, 60)).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should reject warm-up entries outside the table")
+    void shouldRejectInvalidWarmUp() {
+        assertThatThrownBy(() -> new CompoundFactorTable(120, List.of(new BigDecimal("100.01")), List.of(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CompoundFactorTable(120, List.of(new BigDecimal("5.00")), List.of(121)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -186,4 +186,44 @@ class EqualPrincipalScheduleCalculatorTest {
                     .isEqualByComparingTo(expectedNextBalance);
         }
     }
+
+    @Test
+    @DisplayName("Should calculate every installment directly exactly as in the full schedule")
+    void shouldCalculateInstallmentsMatchingFullSchedule() {
+        List<Loan> loans = List.of(
+                createLoan("1200.00", 12, "6.00", LocalDate.of(2024, 1, 1)),
+                createLoan("1000.01", 7, "24.99", LocalDate.of(2024, 1, 31)),
+                createLoan("100.00", 6, "0.50", LocalDate.of(2023, 8, 30)),
+                createLoan("350000.00", 360, "4.35", LocalDate.of(2024, 2, 29)),
+                createLoan("9999999999.99", 600, "99.99", LocalDate.of(2024, 3, 31)));
+
+        for (Loan loan : loans) {
+            List<ScheduleItem> schedule = calculator.calculate(loan);
+            for (int index = 0; index < schedule.size(); index++) {
+                assertThat(calculator.calculateInstallment(loan, index))
+                        .as("installment %d of %s", index, loan.getAmount())
+                        .contains(schedule.get(index));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not calculate installments directly when balances exceed exact precision")
+    void shouldNotCalculateInstallmentForLargeAmounts() {
+        Loan loan = createLoan("10000000000.00", 12, "5.00", LocalDate.of(2024, 1, 1));
+
+        assertThat(calculator.calculateInstallment(loan, 5)).isEmpty();
+    }
+
+    private Loan createLoan(String amount, int periodMonths, String annualInterestRate, LocalDate startDate) {
+        return Loan.builder()
+                .id(java.util.UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(annualInterestRate))
+                .scheduleType(ScheduleType.EQUAL_PRINCIPAL)
+                .startDate(startDate)
+                .build();
+    }
 }
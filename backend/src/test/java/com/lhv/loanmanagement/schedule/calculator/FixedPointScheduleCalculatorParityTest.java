@@ -0,0 +1,106 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedPointScheduleCalculatorParityTest {
+
+    private static final List<String> AMOUNTS = List.of("0.01", "1.00", "999.99", "1000.00", "12345.67",
+            "250000.00", "9876543.21", "1234567890.12", "9999999999999.99");
+    private static final List<String> RATES = List.of("0.01", "0.50", "1.25", "3.33", "4.50", "5.00",
+            "7.99", "24.99", "100.00");
+    private static final List<Integer> PERIODS = List.of(1, 2, 7, 12, 60, 361, 600);
+
+    private final AnnuityScheduleCalculator annuityReference = new AnnuityScheduleCalculator();
+    private final EqualPrincipalScheduleCalculator equalPrincipalReference = new EqualPrincipalScheduleCalculator();
+    private final FixedPointAnnuityScheduleCalculator annuityFixedPoint = new FixedPointAnnuityScheduleCalculator();
+    private final FixedPointEqualPrincipalScheduleCalculator equalPrincipalFixedPoint = new FixedPointEqualPrincipalScheduleCalculator();
+
+    @Test
+    @DisplayName("Should produce identical annuity schedules across the parameter grid")
+    void shouldMatchAnnuityReferenceOnGrid() {
+        for (String amount : AMOUNTS) {
+            for (String rate : RATES) {
+                for (int period : PERIODS) {
+                    Loan loan = createLoan(ScheduleType.ANNUITY, amount, rate, period);
+
+                    assertThat(annuityFixedPoint.calculate(loan))
+                            .as("amount=%s, rate=%s, period=%d", amount, rate, period)
+                            .isEqualTo(annuityReference.calculate(loan));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce identical equal principal schedules across the parameter grid")
+    void shouldMatchEqualPrincipalReferenceOnGrid() {
+        for (String amount : AMOUNTS) {
+            for (String rate : RATES) {
+                for (int period : PERIODS) {
+                    Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL, amount, rate, period);
+
+                    assertThat(equalPrincipalFixedPoint.calculate(loan))
+                            .as("amount=%s, rate=%s, period=%d", amount, rate, period)
+                            .isEqualTo(equalPrincipalReference.calculate(loan));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce identical schedules for random loans")
+    void shouldMatchReferenceForRandomLoans() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 2_000; i++) {
+            String amount = BigDecimal.valueOf(1 + (long) (random.nextDouble() * Math.pow(10, 3 + random.nextInt(13))), 2).toPlainString();
+            String rate = BigDecimal.valueOf(1 + random.nextInt(10_000), 2).toPlainString();
+            int period = 1 + random.nextInt(480);
+
+            Loan annuityLoan = createLoan(ScheduleType.ANNUITY, amount, rate, period);
+            Loan equalPrincipalLoan = createLoan(ScheduleType.EQUAL_PRINCIPAL, amount, rate, period);
+
+            assertThat(annuityFixedPoint.calculate(annuityLoan))
+                    .as("annuity amount=%s, rate=%s, period=%d", amount, rate, period)
+                    .isEqualTo(annuityReference.calculate(annuityLoan));
+            assertThat(equalPrincipalFixedPoint.calculate(equalPrincipalLoan))
+                    .as("equal principal amount=%s, rate=%s, period=%d", amount, rate, period)
+                    .isEqualTo(equalPrincipalReference.calculate(equalPrincipalLoan));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to reference calculation for amounts with more than two decimals")
+    void shouldFallBackForAmountsWithMoreDecimals() {
+        Loan loan = createLoan(ScheduleType.ANNUITY, "1000.005", "5.00", 12);
+
+        List<ScheduleItem> schedule = annuityFixedPoint.calculate(loan);
+
+        assertThat(schedule).isEqualTo(annuityReference.calculate(loan));
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, String rate, int periodMonths) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(rate))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
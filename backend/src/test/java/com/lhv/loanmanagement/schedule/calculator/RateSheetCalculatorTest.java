@@ -0,0 +1,85 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.RateSheet;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateSheetCalculatorTest {
+
+    private final CompoundFactorTable compoundFactors = new CompoundFactorTable();
+    private final RateSheetCalculator calculator = new RateSheetCalculator(compoundFactors);
+    private final AnnuityScheduleCalculator annuityCalculator = new AnnuityScheduleCalculator(compoundFactors);
+    private final EqualPrincipalScheduleCalculator equalPrincipalCalculator = new EqualPrincipalScheduleCalculator();
+
+    @Test
+    @DisplayName("Should match the schedule calculators in every cell")
+    void shouldMatchScheduleCalculators() {
+        // Given
+        List<BigDecimal> rates = new ArrayList<>();
+        for (int basisPoints = 1; basisPoints <= 10_000; basisPoints += 337) {
+            rates.add(BigDecimal.valueOf(basisPoints, 2));
+        }
+        List<Integer> terms = List.of(1, 2, 7, 12, 60, 360, 600);
+        List<BigDecimal> amounts = new ArrayList<>(List.of(new BigDecimal("0.01"), new BigDecimal("1000.00"),
+                new BigDecimal("1000.05"), new BigDecimal("123456789.01"), new BigDecimal("9999999999999.99")));
+        Random random = new Random(42);
+        for (int i = 0; i < 40; i++) {
+            amounts.add(BigDecimal.valueOf(random.nextLong(1, 100_000_000_00L), 2));
+        }
+
+        // When
+        RateSheet sheet = calculator.calculate(rates, terms, amounts);
+
+        // Then
+        for (int r = 0; r < rates.size(); r++) {
+            for (int t = 0; t < terms.size(); t++) {
+                for (int a = 0; a < amounts.size(); a++) {
+                    int cell = sheet.cellIndex(r, t, a);
+                    Loan loan = createLoan(amounts.get(a), rates.get(r), terms.get(t));
+                    BigDecimal annuity = annuityCalculator.calculateAnnuityPayment(
+                            loan.getAmount(), loan.getAnnualInterestRate(), loan.getPeriodMonths());
+                    ScheduleColumns firstInstallment = equalPrincipalCalculator.calculateColumns(loan, 0, 1);
+
+                    assertThat(sheet.annuityPayments()[cell]).as("annuity %s", loan)
+                            .isEqualTo(ScheduleColumns.toCents(annuity));
+                    assertThat(sheet.equalPrincipalPayments()[cell]).as("equal principal %s", loan)
+                            .isEqualTo(firstInstallment.getPayment(0));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should recalculate payments that land on half a cent")
+    void shouldCorrectHalfCentCells() {
+        // 1000.05 / 2 = 500.025 is exactly half a cent, rounded up by the reference
+        RateSheet sheet = calculator.calculate(List.of(new BigDecimal("12.00")), List.of(2),
+                List.of(new BigDecimal("1000.05")));
+
+        // 50002.5 cents of principal plus 1000.05 * 0.01 = 1000.05 cents of interest
+        assertThat(sheet.equalPrincipalPayments()[0]).isEqualTo(50_003 + 1_000);
+    }
+
+    private Loan createLoan(BigDecimal amount, BigDecimal annualInterestRate, int periodMonths) {
+        return Loan.builder()
+                .loanType(LoanType.CONSUMER)
+                .amount(amount)
+                .periodMonths(periodMonths)
+                .annualInterestRate(annualInterestRate)
+                .scheduleType(ScheduleType.EQUAL_PRINCIPAL)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleWindowTest {
+
+    private final List<ScheduleCalculator> calculators = List.of(
+            new AnnuityScheduleCalculator(),
+            new EqualPrincipalScheduleCalculator(),
+            new FixedPointAnnuityScheduleCalculator(),
+            new FixedPointEqualPrincipalScheduleCalculator());
+
+    @Test
+    @DisplayName("Should calculate windows identical to the same rows of the full schedule")
+    void shouldMatchFullScheduleRows() {
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            String amount = BigDecimal.valueOf(1 + (long) (random.nextDouble() * Math.pow(10, 3 + random.nextInt(13))), 2).toPlainString();
+            String rate = BigDecimal.valueOf(1 + random.nextInt(10_000), 2).toPlainString();
+            int period = 1 + random.nextInt(480);
+            int offset = random.nextInt(period + 2);
+            int limit = random.nextInt(3) == 0 ? period : 1 + random.nextInt(24);
+
+            for (ScheduleCalculator calculator : calculators) {
+                Loan loan = createLoan(calculator.getScheduleType(), amount, rate, period);
+                List<ScheduleItem> schedule = calculator.calculate(loan);
+                List<ScheduleItem> expected = schedule.subList(Math.min(offset, period), Math.min(offset + limit, period));
+
+                assertThat(calculator.calculateColumns(loan, offset, limit).asItems())
+                        .as("%s amount=%s, rate=%s, period=%d, offset=%d, limit=%d",
+                                calculator.getClass().getSimpleName(), amount, rate, period, offset, limit)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should start annuity windows at the offset without the preceding rows")
+    void shouldSeekAnnuityWindows() {
+        AnnuityScheduleCalculator calculator = new AnnuityScheduleCalculator();
+        Loan loan = createLoan(ScheduleType.ANNUITY, "100000.00", "4.50", 360);
+        List<ScheduleItem> schedule = calculator.calculate(loan);
+
+        int windows = 0;
+        int seeks = 0;
+        for (int offset = 1; offset < 348; offset += 12, windows++) {
+            ScheduleColumns window = calculator.calculateDirectly(loan, offset, offset + 12);
+            if (window != null) {
+                assertThat(window.asItems()).isEqualTo(schedule.subList(offset, offset + 12));
+                seeks++;
+            }
+        }
+        // Windows with a cent rounding too close to call fall back to the monthly loop
+        assertThat(seeks).isGreaterThan(windows / 2);
+        // The last installment depends on every rounded principal before it
+        assertThat(calculator.calculateDirectly(loan, 348, 360)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject negative window bounds")
+    void shouldRejectNegativeWindow() {
+        Loan loan = createLoan(ScheduleType.ANNUITY, "1000.00", "5.00", 12);
+
+        for (ScheduleCalculator calculator : calculators) {
+            assertThatThrownBy(() -> calculator.calculateColumns(loan, -1, 12))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, String rate, int periodMonths) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal(rate))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
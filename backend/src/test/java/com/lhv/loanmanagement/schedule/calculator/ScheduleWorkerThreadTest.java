@@ -0,0 +1,70 @@
+package com.lhv.loanmanagement.schedule.calculator;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleAccumulator;
+import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleWorkerThreadTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(1, ScheduleWorkerThread.FACTORY, null, false);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should reuse the worker accumulator, reset to the new balance")
+    void shouldReuseAccumulatorOnWorker() {
+        ScheduleAccumulator[] accumulators = pool.submit(() -> {
+            ScheduleAccumulator first = ScheduleWorkerThread.accumulator(BigDecimal.TEN);
+            first.advance(500, BigDecimal.ONE);
+            ScheduleAccumulator second = ScheduleWorkerThread.accumulator(BigDecimal.TWO);
+            return new ScheduleAccumulator[]{first, second};
+        }).join();
+
+        assertThat(accumulators[1]).isSameAs(accumulators[0]);
+        assertThat(accumulators[1].getBalance()).isEqualTo(BigDecimal.TWO);
+        assertThat(accumulators[1].getAccumulatedPrincipal()).isZero();
+        assertThat(ScheduleWorkerThread.accumulator(BigDecimal.ONE))
+                .isNotSameAs(ScheduleWorkerThread.accumulator(BigDecimal.ONE));
+    }
+
+    @Test
+    @DisplayName("Should calculate the same schedules on a worker as on any other thread")
+    void shouldCalculateSameScheduleOnWorker() {
+        AnnuityScheduleCalculator calculator = new AnnuityScheduleCalculator();
+        Loan first = createLoan("250000.00", 360);
+        Loan second = createLoan("1234.56", 7);
+
+        List<List<ScheduleItem>> onWorker = pool.submit(() -> List.of(
+                calculator.calculate(first), calculator.calculate(second))).join();
+
+        assertThat(onWorker).containsExactly(calculator.calculate(first), calculator.calculate(second));
+    }
+
+    private Loan createLoan(String amount, int periodMonths) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("4.75"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 3, 31))
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.lhv.loanmanagement.schedule.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.dto.ScheduleResponse;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleBinaryCodecTest {
+
+    @Test
+    @DisplayName("Should decode calculated schedules to identical rows")
+    void shouldRoundTripCalculatedSchedules() {
+        for (String amount : new String[]{"0.01", "1000.00", "350000.00", "9999999999999.99"}) {
+            for (int period : new int[]{1, 12, 360, 600}) {
+                ScheduleColumns annuity = new AnnuityScheduleCalculator()
+                        .calculateColumns(createLoan(ScheduleType.ANNUITY, amount, period));
+                ScheduleColumns equalPrincipal = new EqualPrincipalScheduleCalculator()
+                        .calculateColumns(createLoan(ScheduleType.EQUAL_PRINCIPAL, amount, period));
+
+                assertThat(ScheduleBinaryCodec.decode(ScheduleBinaryCodec.encode(annuity)).asItems())
+                        .isEqualTo(annuity.asItems());
+                assertThat(ScheduleBinaryCodec.decode(ScheduleBinaryCodec.encode(equalPrincipal)).asItems())
+                        .isEqualTo(equalPrincipal.asItems());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep dates and amounts that do not follow the regular pattern")
+    void shouldRoundTripIrregularRows() {
+        ScheduleColumns schedule = new ScheduleColumns(3);
+        schedule.add(LocalDate.of(2024, 3, 31), 100, 90, 5, -1);
+        schedule.add(LocalDate.of(2024, 3, 1), Long.MAX_VALUE / 4, -7, 0, Long.MIN_VALUE / 4);
+        schedule.add(LocalDate.of(2030, 12, 31), 0, 0, 0, 0);
+
+        assertThat(ScheduleBinaryCodec.decode(ScheduleBinaryCodec.encode(schedule)).asItems())
+                .isEqualTo(schedule.asItems());
+        assertThat(ScheduleBinaryCodec.decode(ScheduleBinaryCodec.encode(new ScheduleColumns(0))).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should be at least ten times smaller than JSON for long schedules")
+    void shouldBeMuchSmallerThanJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ScheduleColumns schedule = new AnnuityScheduleCalculator()
+                .calculateColumns(createLoan(ScheduleType.ANNUITY, "350000.00", 360));
+
+        int binarySize = ScheduleBinaryCodec.encode(schedule).length;
+        int jsonSize = objectMapper.writeValueAsBytes(
+                ScheduleResponse.builder().items(schedule.asItems()).build()).length;
+
+        assertThat(binarySize * 10).isLessThan(jsonSize);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated and unsupported data")
+    void shouldRejectMalformedData() {
+        byte[] encoded = ScheduleBinaryCodec.encode(new AnnuityScheduleCalculator()
+                .calculateColumns(createLoan(ScheduleType.ANNUITY, "1000.00", 12)));
+        byte[] unsupported = encoded.clone();
+        unsupported[0] = 99;
+
+        assertThatThrownBy(() -> ScheduleBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleBinaryCodec.decode(unsupported))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleBinaryCodec.decode(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject dates outside the supported range")
+    void shouldRejectCorruptDates() {
+        // Explicit dates, one row, starting at epoch day Long.MAX_VALUE
+        byte[] explicit = bytes(1, 1, 1, 0xFE, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01, 0, 0, 0, 0, 0);
+        // Monthly dates, two rows, starting at epoch day Integer.MAX_VALUE
+        byte[] monthly = bytes(1, 2, 0, 0xFE, 0xFF, 0xFF, 0xFF, 0x0F, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        assertThatThrownBy(() -> ScheduleBinaryCodec.decode(explicit))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid schedule date");
+        assertThatThrownBy(() -> ScheduleBinaryCodec.decode(monthly))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid schedule date");
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int index = 0; index < values.length; index++) {
+            bytes[index] = (byte) values[index];
+        }
+        return bytes;
+    }
+
+    private Loan createLoan(ScheduleType scheduleType, String amount, int periodMonths) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal(amount))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("4.35"))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.lhv.loanmanagement.schedule.metrics;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleCalculationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ScheduleCalculationMetrics metrics = new ScheduleCalculationMetrics(registry);
+
+    @Test
+    @DisplayName("Should record calculation time and rows tagged by schedule type and term bucket")
+    void shouldRecordTaggedCalculation() {
+        // Given
+        Loan loan = createLoan(360);
+        ScheduleColumns schedule = new ScheduleColumns(3);
+        for (int i = 0; i < 3; i++) {
+            schedule.add(LocalDate.of(2024, 1 + i, 15), 100, 90, 10, 1000);
+        }
+
+        // When
+        ScheduleColumns result = metrics.record(loan, () -> schedule);
+
+        // Then
+        assertThat(result).isSameAs(schedule);
+        Timer timer = registry.get("loan.schedule.calculation")
+                .tag("scheduleType", "ANNUITY").tag("term", "241-360").timer();
+        DistributionSummary rows = registry.get("loan.schedule.rows")
+                .tag("scheduleType", "ANNUITY").tag("term", "241-360").summary();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(3);
+        assertThat(registry.get("loan.schedule.calculation").tag("term", "361+").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should bucket terms by inclusive upper bounds")
+    void shouldBucketTerms() {
+        assertThat(ScheduleCalculationMetrics.termBucket(1)).isZero();
+        assertThat(ScheduleCalculationMetrics.termBucket(12)).isZero();
+        assertThat(ScheduleCalculationMetrics.termBucket(13)).isEqualTo(1);
+        assertThat(ScheduleCalculationMetrics.termBucket(360)).isEqualTo(4);
+        assertThat(ScheduleCalculationMetrics.termBucket(600)).isEqualTo(5);
+    }
+
+    private Loan createLoan(int periodMonths) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.MORTGAGE)
+                .amount(new BigDecimal("100000.00"))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("5.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.lhv.loanmanagement.schedule.service;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.AprCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AprServiceTest {
+
+    private final AprService aprService = new AprService(new AprCalculator(),
+            new RepaymentScheduleService(List.of(new AnnuityScheduleCalculator()), new ScheduleCache(100),
+                    new ScheduleCalculationMetrics(new SimpleMeterRegistry())), 100);
+
+    @Test
+    @DisplayName("Should keep the contract APR of repriced loans")
+    void shouldKeepContractAprOfRepricedLoans() {
+        // Given
+        Loan contract = createLoan();
+        Loan repriced = createLoan();
+        repriced.setRevision(2);
+        repriced.setCurrentInterestRate(new BigDecimal("9.25"));
+
+        // When
+        BigDecimal apr = aprService.calculate(repriced);
+
+        // Then
+        assertThat(apr).isEqualTo(aprService.calculate(contract)).isEqualTo(new BigDecimal("5.12"));
+    }
+
+    private Loan createLoan() {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal("10000.00"))
+                .periodMonths(12)
+                .annualInterestRate(new BigDecimal("5.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
@@ -3,8 +3,12 @@ package com.lhv.loanmanagement.schedule.service;
 import com.lhv.loanmanagement.loan.Loan;
 import com.lhv.loanmanagement.loan.enums.LoanType;
 import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
 import com.lhv.loanmanagement.schedule.calculator.ScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
 import com.lhv.loanmanagement.schedule.model.ScheduleItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +23,9 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,59 +43,60 @@ class RepaymentScheduleServiceTest {
     void setUp() {
         when(annuityCalculator.getScheduleType()).thenReturn(ScheduleType.ANNUITY);
         when(equalPrincipalCalculator.getScheduleType()).thenReturn(ScheduleType.EQUAL_PRINCIPAL);
-        service = new RepaymentScheduleService(List.of(annuityCalculator, equalPrincipalCalculator));
+        service = new RepaymentScheduleService(List.of(annuityCalculator, equalPrincipalCalculator), new ScheduleCache(1_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
     @DisplayName("Should calculate annuity schedule using correct calculator")
     void shouldCalculateAnnuityScheduleUsingCorrectCalculator() {
         Loan loan = createLoan(ScheduleType.ANNUITY);
-        List<ScheduleItem> expectedSchedule = List.of(createScheduleItem(loan.getStartDate()));
+        ScheduleColumns expectedSchedule = createSchedule(loan.getStartDate());
         
-        when(annuityCalculator.calculate(loan)).thenReturn(expectedSchedule);
+        when(annuityCalculator.calculateColumns(loan)).thenReturn(expectedSchedule);
         
         List<ScheduleItem> schedule = service.calculateSchedule(loan);
         
-        assertThat(schedule).isEqualTo(expectedSchedule);
+        assertThat(schedule).isEqualTo(expectedSchedule.asItems());
     }
 
     @Test
     @DisplayName("Should calculate equal principal schedule using correct calculator")
     void shouldCalculateEqualPrincipalScheduleUsingCorrectCalculator() {
         Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL);
-        List<ScheduleItem> expectedSchedule = List.of(createScheduleItem(loan.getStartDate()));
+        ScheduleColumns expectedSchedule = createSchedule(loan.getStartDate());
         
-        when(equalPrincipalCalculator.calculate(loan)).thenReturn(expectedSchedule);
+        when(equalPrincipalCalculator.calculateColumns(loan)).thenReturn(expectedSchedule);
         
         List<ScheduleItem> schedule = service.calculateSchedule(loan);
         
-        assertThat(schedule).isEqualTo(expectedSchedule);
+        assertThat(schedule).isEqualTo(expectedSchedule.asItems());
     }
 
     @Test
     @DisplayName("Should delegate to calculateSchedule for annuity schedule")
     void shouldDelegateToCalculateScheduleForAnnuity() {
         Loan loan = createLoan(ScheduleType.ANNUITY);
-        List<ScheduleItem> expectedSchedule = List.of(createScheduleItem(loan.getStartDate()));
+        ScheduleColumns expectedSchedule = createSchedule(loan.getStartDate());
         
-        when(annuityCalculator.calculate(loan)).thenReturn(expectedSchedule);
+        when(annuityCalculator.calculateColumns(loan)).thenReturn(expectedSchedule);
         
         List<ScheduleItem> schedule = service.calculateAnnuitySchedule(loan);
         
-        assertThat(schedule).isEqualTo(expectedSchedule);
+        assertThat(schedule).isEqualTo(expectedSchedule.asItems());
     }
 
     @Test
     @DisplayName("Should delegate to calculateSchedule for equal principal schedule")
     void shouldDelegateToCalculateScheduleForEqualPrincipal() {
         Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL);
-        List<ScheduleItem> expectedSchedule = List.of(createScheduleItem(loan.getStartDate()));
+        ScheduleColumns expectedSchedule = createSchedule(loan.getStartDate());
         
-        when(equalPrincipalCalculator.calculate(loan)).thenReturn(expectedSchedule);
+        when(equalPrincipalCalculator.calculateColumns(loan)).thenReturn(expectedSchedule);
         
         List<ScheduleItem> schedule = service.calculateEqualPrincipalSchedule(loan);
         
-        assertThat(schedule).isEqualTo(expectedSchedule);
+        assertThat(schedule).isEqualTo(expectedSchedule.asItems());
     }
 
     @Test
@@ -113,7 +121,8 @@ class RepaymentScheduleServiceTest {
     @Test
     @DisplayName("Should throw exception when service initialized with empty calculator list")
     void shouldThrowExceptionWhenServiceInitializedWithEmptyList() {
-        assertThatThrownBy(() -> new RepaymentScheduleService(List.of()))
+        assertThatThrownBy(() -> new RepaymentScheduleService(List.of(), new ScheduleCache(1_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry())))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -122,7 +131,8 @@ class RepaymentScheduleServiceTest {
     void shouldThrowExceptionWhenCalculatorNotFound() {
         ScheduleCalculator otherCalculator = org.mockito.Mockito.mock(ScheduleCalculator.class);
         when(otherCalculator.getScheduleType()).thenReturn(ScheduleType.ANNUITY);
-        RepaymentScheduleService serviceWithSingleCalculator = new RepaymentScheduleService(List.of(otherCalculator));
+        RepaymentScheduleService serviceWithSingleCalculator = new RepaymentScheduleService(List.of(otherCalculator), new ScheduleCache(1_000),
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
         
         Loan loan = createLoan(ScheduleType.EQUAL_PRINCIPAL);
         
@@ -131,6 +141,100 @@ class RepaymentScheduleServiceTest {
                 .hasMessageContaining("Unsupported schedule type");
     }
 
+    @Test
+    @DisplayName("Should serve loans with the same financial parameters from the cache")
+    void shouldServeSameParametersFromCache() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+        Loan sameProduct = createLoan(ScheduleType.ANNUITY);
+        sameProduct.setAmount(new BigDecimal("10000"));
+        sameProduct.setStartDate(LocalDate.of(2024, 3, 15));
+
+        when(annuityCalculator.calculateColumns(loan)).thenReturn(createSchedule(loan.getStartDate()));
+
+        service.calculateSchedule(loan);
+        List<ScheduleItem> schedule = service.calculateSchedule(sameProduct);
+
+        verify(annuityCalculator, times(1)).calculateColumns(any());
+        assertThat(schedule).hasSize(1);
+        assertThat(schedule.get(0).getPaymentDate()).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(schedule.get(0).getPayment()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    @DisplayName("Should not share cached schedules between different financial parameters")
+    void shouldNotShareScheduleBetweenDifferentParameters() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+        Loan longerLoan = createLoan(ScheduleType.ANNUITY);
+        longerLoan.setPeriodMonths(36);
+
+        when(annuityCalculator.calculateColumns(any())).thenReturn(createSchedule(loan.getStartDate()));
+
+        service.calculateSchedule(loan);
+        service.calculateSchedule(longerLoan);
+
+        verify(annuityCalculator, times(2)).calculateColumns(any());
+    }
+
+    @Test
+    @DisplayName("Should look up an installment in cached amounts with its own payment date")
+    void shouldLookUpInstallmentInCachedAmounts() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+        loan.setPeriodMonths(1);
+        loan.setStartDate(LocalDate.of(2024, 1, 31));
+        Loan laterLoan = createLoan(ScheduleType.ANNUITY);
+        laterLoan.setPeriodMonths(1);
+        laterLoan.setStartDate(LocalDate.of(2025, 6, 30));
+
+        when(annuityCalculator.calculateColumns(any())).thenReturn(createSchedule(loan.getStartDate()));
+
+        service.calculateSchedule(loan);
+        ScheduleItem installment = service.calculateInstallment(laterLoan, 1);
+
+        verify(annuityCalculator, times(1)).calculateColumns(any());
+        assertThat(installment.getPaymentDate()).isEqualTo(LocalDate.of(2025, 6, 30));
+        assertThat(installment.getPrincipal()).isEqualByComparingTo("450.00");
+    }
+
+    @Test
+    @DisplayName("Should reject installment numbers outside the loan period")
+    void shouldRejectInstallmentOutsidePeriod() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+
+        assertThatThrownBy(() -> service.calculateInstallment(loan, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculateInstallment(loan, 25))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should calculate only the requested window when the schedule is not cached")
+    void shouldCalculateWindowWithoutCaching() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+        ScheduleColumns window = createSchedule(LocalDate.of(2025, 1, 1));
+
+        when(annuityCalculator.calculateColumns(loan, 12, 1)).thenReturn(window);
+
+        List<ScheduleItem> schedule = service.calculateSchedule(loan, 12, 1);
+
+        assertThat(schedule).isEqualTo(window.asItems());
+        verify(annuityCalculator, times(0)).calculateColumns(loan);
+    }
+
+    @Test
+    @DisplayName("Should slice a cached schedule for a window")
+    void shouldSliceCachedSchedule() {
+        Loan loan = createLoan(ScheduleType.ANNUITY);
+        loan.setPeriodMonths(1);
+        when(annuityCalculator.calculateColumns(any())).thenReturn(createSchedule(loan.getStartDate()));
+        service.calculateSchedule(loan);
+
+        List<ScheduleItem> schedule = service.calculateSchedule(loan, 0, 12);
+
+        verify(annuityCalculator, times(1)).calculateColumns(any());
+        assertThat(schedule).hasSize(1);
+        assertThat(schedule.get(0).getPaymentDate()).isEqualTo(loan.getStartDate());
+    }
+
     private Loan createLoan(ScheduleType scheduleType) {
         return Loan.builder()
                 .id(UUID.randomUUID())
@@ -143,14 +247,9 @@ class RepaymentScheduleServiceTest {
                 .build();
     }
     
-    private ScheduleItem createScheduleItem(LocalDate paymentDate) {
-        return ScheduleItem.builder()
-                .paymentDate(paymentDate)
-                .payment(new BigDecimal("500.00"))
-                .principal(new BigDecimal("450.00"))
-                .interest(new BigDecimal("50.00"))
-                .remainingBalance(new BigDecimal("9550.00"))
-                .build();
+    private ScheduleColumns createSchedule(LocalDate paymentDate) {
+        ScheduleColumns schedule = new ScheduleColumns(1);
+        schedule.add(paymentDate, 50_000, 45_000, 5_000, 955_000);
+        return schedule;
     }
 }
-
@@ -0,0 +1,119 @@
+package com.lhv.loanmanagement.schedule.service;
+
+import com.lhv.loanmanagement.loan.dto.CreateLoanRequest;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.cache.ScheduleCache;
+import com.lhv.loanmanagement.schedule.calculator.AnnuityScheduleCalculator;
+import com.lhv.loanmanagement.schedule.calculator.AprCalculator;
+import com.lhv.loanmanagement.schedule.calculator.EqualPrincipalScheduleCalculator;
+import com.lhv.loanmanagement.schedule.metrics.ScheduleCalculationMetrics;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.model.ScheduleQuote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleQuoteServiceTest {
+
+    private final AnnuityScheduleCalculator annuityCalculator = new AnnuityScheduleCalculator();
+    private final EqualPrincipalScheduleCalculator equalPrincipalCalculator = new EqualPrincipalScheduleCalculator();
+    private final AprCalculator aprCalculator = new AprCalculator();
+    private final ScheduleCache scheduleCache = new ScheduleCache(10_000);
+
+    private ValidatorFactory validatorFactory;
+    private ScheduleQuoteService service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        RepaymentScheduleService repaymentScheduleService = new RepaymentScheduleService(
+                List.of(annuityCalculator, equalPrincipalCalculator), scheduleCache,
+                new ScheduleCalculationMetrics(new SimpleMeterRegistry()));
+        AprService aprService = new AprService(aprCalculator, repaymentScheduleService, 1_000);
+        service = new ScheduleQuoteService(repaymentScheduleService, aprService, validatorFactory.getValidator(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should return schedules and APRs in request order without caching the schedules")
+    void shouldCalculateInOrder() {
+        // Given
+        List<CreateLoanRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            requests.add(createRequest(i % 2 == 0 ? ScheduleType.ANNUITY : ScheduleType.EQUAL_PRINCIPAL,
+                    BigDecimal.valueOf(1000L * i), 12 + i));
+        }
+
+        // When
+        List<ScheduleQuote> quotes = service.calculateAll(requests);
+
+        // Then
+        assertThat(quotes).hasSize(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateLoanRequest request = requests.get(i);
+            ScheduleColumns expected = request.getScheduleType() == ScheduleType.ANNUITY
+                    ? annuityCalculator.calculateColumns(request.toEntity())
+                    : equalPrincipalCalculator.calculateColumns(request.toEntity());
+            assertThat(quotes.get(i).schedule().asItems()).isEqualTo(expected.asItems());
+            assertThat(quotes.get(i).annualPercentageRate())
+                    .isEqualTo(aprCalculator.calculate(request.getAmount(), expected, request.getAnnualInterestRate()));
+        }
+        assertThat(scheduleCache.stats().requestCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject the batch naming the first invalid loan")
+    void shouldRejectInvalidLoan() {
+        // Given
+        CreateLoanRequest invalid = createRequest(ScheduleType.ANNUITY, new BigDecimal("1000.00"), 12);
+        invalid.setPeriodMonths(0);
+        List<CreateLoanRequest> requests = List.of(
+                createRequest(ScheduleType.ANNUITY, new BigDecimal("1000.00"), 12), invalid);
+
+        // When / Then
+        assertThatThrownBy(() -> service.calculateAll(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Loan at index 1 is invalid: periodMonths: Period must be at least 1 month");
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void shouldRejectInvalidBatchSize() {
+        List<CreateLoanRequest> oversized = new ArrayList<>();
+        for (int i = 0; i <= ScheduleQuoteService.MAX_BATCH_SIZE; i++) {
+            oversized.add(createRequest(ScheduleType.ANNUITY, new BigDecimal("1000.00"), 12));
+        }
+
+        assertThatThrownBy(() -> service.calculateAll(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.calculateAll(oversized)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CreateLoanRequest createRequest(ScheduleType scheduleType, BigDecimal amount, int periodMonths) {
+        return CreateLoanRequest.builder()
+                .loanType(LoanType.CONSUMER)
+                .amount(amount.setScale(2))
+                .periodMonths(periodMonths)
+                .annualInterestRate(new BigDecimal("6.50"))
+                .scheduleType(scheduleType)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
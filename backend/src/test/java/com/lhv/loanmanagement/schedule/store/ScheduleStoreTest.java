@@ -0,0 +1,197 @@
+package com.lhv.loanmanagement.schedule.store;
+
+import com.lhv.loanmanagement.loan.Loan;
+import com.lhv.loanmanagement.loan.LoanChangedEvent;
+import com.lhv.loanmanagement.loan.LoanRepository;
+import com.lhv.loanmanagement.loan.LoansChangedEvent;
+import com.lhv.loanmanagement.loan.LoansCreatedEvent;
+import com.lhv.loanmanagement.loan.enums.LoanType;
+import com.lhv.loanmanagement.loan.enums.ScheduleType;
+import com.lhv.loanmanagement.schedule.model.ScheduleColumns;
+import com.lhv.loanmanagement.schedule.service.RepaymentScheduleService;
+import com.lhv.loanmanagement.schedule.service.SegmentedScheduleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.lhv.loanmanagement.schedule.FinancialCalculationConstants.CALCULATOR_VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleStoreTest {
+
+    @Mock
+    private StoredScheduleRepository storedScheduleRepository;
+
+    @Mock
+    private RepaymentScheduleService repaymentScheduleService;
+
+    @Mock
+    private SegmentedScheduleService segmentedScheduleService;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private ScheduleStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ScheduleStore(storedScheduleRepository, repaymentScheduleService, segmentedScheduleService,
+                loanRepository, new SyncTaskExecutor());
+    }
+
+    @Test
+    @DisplayName("Should serve a stored schedule of the current calculator version without calculating")
+    void shouldServeCurrentStoredSchedule() {
+        Loan loan = createLoan();
+        ScheduleColumns stored = createSchedule();
+        when(storedScheduleRepository.findByLoan(loan)).thenReturn(Optional.of(new StoredSchedule(CALCULATOR_VERSION, 0, stored)));
+
+        ScheduleColumns schedule = store.getSchedule(loan);
+
+        assertThat(schedule).isSameAs(stored);
+        verify(repaymentScheduleService, never()).calculateScheduleColumns(any());
+    }
+
+    @Test
+    @DisplayName("Should calculate and restore a schedule stored by another calculator version")
+    void shouldRecalculateStaleSchedule() {
+        Loan loan = createLoan();
+        ScheduleColumns calculated = createSchedule();
+        when(storedScheduleRepository.findByLoan(loan))
+                .thenReturn(Optional.of(new StoredSchedule(CALCULATOR_VERSION - 1, 0, createSchedule())));
+        when(repaymentScheduleService.calculateScheduleColumns(loan)).thenReturn(calculated);
+
+        ScheduleColumns schedule = store.getSchedule(loan);
+
+        assertThat(schedule).isSameAs(calculated);
+        verify(storedScheduleRepository).replace(loan.getId(), calculated, CALCULATOR_VERSION, 0);
+    }
+
+    @Test
+    @DisplayName("Should calculate a missing schedule even when storing it fails")
+    void shouldCalculateMissingScheduleWhenStoringFails() {
+        Loan loan = createLoan();
+        ScheduleColumns calculated = createSchedule();
+        when(storedScheduleRepository.findByLoan(loan)).thenReturn(Optional.empty());
+        when(repaymentScheduleService.calculateScheduleColumns(loan)).thenReturn(calculated);
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(storedScheduleRepository).replace(any(), any(), anyInt(), anyInt());
+
+        assertThat(store.getSchedule(loan)).isSameAs(calculated);
+    }
+
+    @Test
+    @DisplayName("Should store schedules of created loans")
+    void shouldStoreSchedulesOfCreatedLoans() {
+        Loan first = createLoan();
+        Loan second = createLoan();
+        ScheduleColumns calculated = createSchedule();
+        when(repaymentScheduleService.calculateScheduleColumns(any())).thenReturn(calculated);
+
+        store.onLoansCreated(new LoansCreatedEvent(List.of(first, second)));
+
+        verify(storedScheduleRepository).replace(first.getId(), calculated, CALCULATOR_VERSION, 0);
+        verify(storedScheduleRepository).replace(second.getId(), calculated, CALCULATOR_VERSION, 0);
+    }
+
+    @Test
+    @DisplayName("Should not serve a schedule stored for an earlier loan revision")
+    void shouldRecalculateScheduleOfEarlierRevision() {
+        Loan loan = createLoan();
+        loan.setRevision(2);
+        ScheduleColumns segmented = createSchedule();
+        when(storedScheduleRepository.findByLoan(loan))
+                .thenReturn(Optional.of(new StoredSchedule(CALCULATOR_VERSION, 1, createSchedule())));
+        when(segmentedScheduleService.getSchedule(loan)).thenReturn(segmented);
+
+        ScheduleColumns schedule = store.getSchedule(loan);
+
+        assertThat(schedule).isSameAs(segmented);
+        verify(storedScheduleRepository).replace(loan.getId(), segmented, CALCULATOR_VERSION, 2);
+        verify(repaymentScheduleService, never()).calculateScheduleColumns(any());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the schedule of a changed loan stamped with its new revision")
+    void shouldRewriteScheduleOfChangedLoan() {
+        Loan loan = createLoan();
+        loan.setRevision(1);
+        ScheduleColumns segmented = createSchedule();
+        when(loanRepository.findById(loan.getId())).thenReturn(Optional.of(loan));
+        when(segmentedScheduleService.getSchedule(loan)).thenReturn(segmented);
+
+        store.onLoanChanged(new LoanChangedEvent(loan.getId()));
+
+        verify(storedScheduleRepository).replace(loan.getId(), segmented, CALCULATOR_VERSION, 1);
+    }
+
+    @Test
+    @DisplayName("Should rewrite the schedules of loans changed together in one batch")
+    void shouldRewriteSchedulesOfChangedLoansInOneBatch() {
+        Loan first = createLoan();
+        first.setRevision(1);
+        Loan second = createLoan();
+        second.setRevision(3);
+        List<UUID> loanIds = List.of(first.getId(), second.getId());
+        ScheduleColumns firstSchedule = createSchedule();
+        ScheduleColumns secondSchedule = createSchedule();
+        when(loanRepository.findAllById(loanIds)).thenReturn(List.of(first, second));
+        when(segmentedScheduleService.findSegments(loanIds)).thenReturn(Map.of());
+        when(segmentedScheduleService.getSchedule(first, List.of())).thenReturn(firstSchedule);
+        when(segmentedScheduleService.getSchedule(second, List.of())).thenReturn(secondSchedule);
+
+        store.onLoansChanged(new LoansChangedEvent(loanIds));
+
+        verify(storedScheduleRepository).replaceAll(Map.of(
+                first.getId(), new StoredSchedule(CALCULATOR_VERSION, 1, firstSchedule),
+                second.getId(), new StoredSchedule(CALCULATOR_VERSION, 3, secondSchedule)));
+        verify(storedScheduleRepository, never()).replace(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not store a schedule for a loan deleted before its change was handled")
+    void shouldSkipDeletedChangedLoan() {
+        UUID loanId = UUID.randomUUID();
+        when(loanRepository.findById(loanId)).thenReturn(Optional.empty());
+
+        store.onLoanChanged(new LoanChangedEvent(loanId));
+
+        verify(storedScheduleRepository, never()).replace(any(), any(), anyInt(), anyInt());
+    }
+
+    private Loan createLoan() {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanType(LoanType.CONSUMER)
+                .amount(new BigDecimal("10000.00"))
+                .periodMonths(1)
+                .annualInterestRate(new BigDecimal("6.00"))
+                .scheduleType(ScheduleType.ANNUITY)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .build();
+    }
+
+    private ScheduleColumns createSchedule() {
+        ScheduleColumns schedule = new ScheduleColumns(1);
+        schedule.add(LocalDate.of(2024, 1, 1), 1_005_000, 1_000_000, 5_000, 0);
+        return schedule;
+    }
+}
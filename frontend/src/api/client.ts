@@ -1,4 +1,4 @@
-import type { Loan, CreateLoanRequest } from '../features/loan/types';
+import type { Loan, LoanPage, CreateLoanRequest } from '../features/loan/types';
 import type { ScheduleResponse } from '../features/schedule/types';
 import type { ErrorResponse } from '../types';
 
@@ -67,10 +67,11 @@ export async function getSchedule(id: string, signal?: AbortSignal): Promise<Sch
   }
 }
 
-export async function getAllLoans(signal?: AbortSignal): Promise<Loan[]> {
+export async function getLoans(cursor?: string | null, signal?: AbortSignal): Promise<LoanPage> {
   try {
-    const response = await fetch(`${API_BASE_URL}/loans`, { signal });
-    return handleResponse<Loan[]>(response);
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await fetch(`${API_BASE_URL}/loans${query}`, { signal });
+    return handleResponse<LoanPage>(response);
   } catch (err) {
     if (err instanceof Error && err.name === 'AbortError') {
       throw err;
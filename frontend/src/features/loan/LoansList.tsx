@@ -1,5 +1,6 @@
 import { useEffect, useState, useImperativeHandle, forwardRef } from 'react';
-import { getAllLoans } from '../../api/client';
+import { Box, Button } from '@mui/material';
+import { getLoans } from '../../api/client';
 import type { Loan } from './types';
 import { DataTable } from '../../components/DataTable';
 import { LOAN_COLUMNS } from './types/columnDefinitions';
@@ -14,15 +15,18 @@ export interface LoansListRef {
 
 export const LoansList = forwardRef<LoansListRef, LoansListProps>(({ onLoanSelect }, ref) => {
   const [loans, setLoans] = useState<Loan[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
   const fetchLoans = async (abortSignal?: AbortSignal) => {
     setLoading(true);
     setError(null);
     try {
-      const loansData = await getAllLoans(abortSignal);
-      setLoans(loansData);
+      const page = await getLoans(null, abortSignal);
+      setLoans(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       if (err instanceof Error && err.name !== 'AbortError') {
         setError(err.message || 'Failed to load loans');
@@ -34,6 +38,19 @@ export const LoansList = forwardRef<LoansListRef, LoansListProps>(({ onLoanSelec
     }
   };
 
+  const fetchMoreLoans = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await getLoans(nextCursor);
+      setLoans((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Failed to load loans');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useImperativeHandle(ref, () => ({
     refetch: () => {
       const abortController = new AbortController();
@@ -50,15 +67,24 @@ export const LoansList = forwardRef<LoansListRef, LoansListProps>(({ onLoanSelec
   }, []);
 
   return (
-    <DataTable<Loan>
-      title="All Loans"
-      columns={LOAN_COLUMNS}
-      rows={loans}
-      loading={loading}
-      error={error}
-      emptyMessage="No loans found. Create a new loan to get started."
-      onRowClick={(id) => onLoanSelect(String(id))}
-    />
+    <>
+      <DataTable<Loan>
+        title="All Loans"
+        columns={LOAN_COLUMNS}
+        rows={loans}
+        loading={loading}
+        error={error}
+        emptyMessage="No loans found. Create a new loan to get started."
+        onRowClick={(id) => onLoanSelect(String(id))}
+      />
+      {nextCursor && !loading && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button variant="outlined" onClick={fetchMoreLoans} disabled={loadingMore}>
+            Load more
+          </Button>
+        </Box>
+      )}
+    </>
   );
 });
 
@@ -16,6 +16,11 @@ export interface Loan {
   startDate: string; // ISO date string
 }
 
+export interface LoanPage {
+  items: Loan[];
+  nextCursor: string | null;
+}
+
 export interface CreateLoanRequest {
   loanType: LoanType;
   amount: number;
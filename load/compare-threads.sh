@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Runs load/loans.js against the backend on platform threads and then on virtual threads, with the same
+# data and arrival rate, and keeps each k6 summary in load/results/<mode>.json.
+#
+# The schema is recreated before each mode, so both runs see exactly the LOANS loans the scenario seeds.
+#
+# Requires PostgreSQL (docker compose up -d db), k6 and a built jar (cd backend && gradle bootJar).
+# Extra k6 settings are passed through, e.g. RATE=1000 DURATION=120s load/compare-threads.sh
+# PSQL overrides how the database is reached, e.g. PSQL="psql -h db.example -U postgres -d loans"
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls backend/build/libs/*.jar | grep -v plain | head -n 1)
+PSQL=${PSQL:-docker compose exec -T db psql -U postgres -d loans}
+mkdir -p load/results
+
+for mode in platform virtual-threads; do
+  profile=()
+  if [ "$mode" = "virtual-threads" ]; then
+    profile=(--spring.profiles.active=virtual-threads)
+  fi
+
+  echo "Recreating the database schema"
+  $PSQL -q -v ON_ERROR_STOP=1 -c 'DROP SCHEMA public CASCADE; CREATE SCHEMA public;'
+
+  echo "Starting backend on $mode threads"
+  java -jar "$JAR" "${profile[@]}" \
+    --logging.level.com.lhv.loanmanagement=INFO \
+    --logging.level.org.hibernate.SQL=INFO \
+    > "load/results/$mode.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+    sleep 1
+  done
+
+  k6 run \
+    -e RATE="${RATE:-500}" -e DURATION="${DURATION:-60s}" -e LOANS="${LOANS:-1000}" \
+    --summary-export "load/results/$mode.json" \
+    load/loans.js || true
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
+
+echo "Summaries written to load/results/platform.json and load/results/virtual-threads.json"
@@ -0,0 +1,78 @@
+// k6 scenario for GET /api/loans/{id}/schedule and GET /api/loans at a fixed arrival rate.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e RATE=500 -e DURATION=60s load/loans.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '500');
+const DURATION = __ENV.DURATION || '60s';
+const LOANS = parseInt(__ENV.LOANS || '1000');
+
+export const options = {
+  scenarios: {
+    schedule: {
+      executor: 'constant-arrival-rate',
+      exec: 'schedule',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 100,
+      maxVUs: 2000,
+    },
+    list: {
+      executor: 'constant-arrival-rate',
+      exec: 'list',
+      rate: Math.max(1, Math.floor(RATE / 5)),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 20,
+      maxVUs: 500,
+    },
+  },
+  // Per-endpoint thresholds make k6 report each endpoint's percentiles separately
+  thresholds: {
+    'http_req_duration{endpoint:schedule}': ['p(99)<1000'],
+    'http_req_duration{endpoint:list}': ['p(99)<1000'],
+    'http_req_failed': ['rate<0.01'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const requests = [];
+  for (let i = 0; i < LOANS; i++) {
+    requests.push({
+      loanType: ['CONSUMER', 'CAR', 'MORTGAGE'][i % 3],
+      amount: (1000 + (i * 7919) % 500000).toFixed(2),
+      periodMonths: [12, 60, 120, 360][i % 4],
+      annualInterestRate: (1 + (i % 2000) / 100).toFixed(2),
+      scheduleType: i % 2 === 0 ? 'ANNUITY' : 'EQUAL_PRINCIPAL',
+      startDate: `2024-${String(1 + (i % 12)).padStart(2, '0')}-${String(1 + (i % 28)).padStart(2, '0')}`,
+    });
+  }
+  const response = http.post(`${BASE_URL}/api/loans/batch`, JSON.stringify(requests), {
+    headers: { 'Content-Type': 'application/json' },
+  });
+  check(response, { 'loans created': (r) => r.status === 200 });
+  return { ids: response.json('results').filter((r) => r.status === 'CREATED').map((r) => r.id) };
+}
+
+export function schedule(data) {
+  const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+  const response = http.get(`${BASE_URL}/api/loans/${id}/schedule`, { tags: { endpoint: 'schedule' } });
+  check(response, { 'schedule ok': (r) => r.status === 200 });
+}
+
+// Each VU walks the list page by page, following nextCursor, and starts over after the last page, so requests
+// are spread over every keyset depth rather than only the first page
+let cursor = null;
+
+export function list() {
+  const url = cursor === null
+    ? `${BASE_URL}/api/loans?size=50`
+    : `${BASE_URL}/api/loans?size=50&cursor=${encodeURIComponent(cursor)}`;
+  // One name for every cursor keeps the URL out of the metric tags
+  const response = http.get(url, { tags: { endpoint: 'list', name: `${BASE_URL}/api/loans` } });
+  check(response, { 'list ok': (r) => r.status === 200 });
+  cursor = response.status === 200 ? response.json('nextCursor') || null : null;
+}